@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Compares platform and virtual request threads under the same load.
+# Usage: benchmark/load-test.sh [requests] [concurrency]
+set -euo pipefail
+
+REQUESTS=${1:-20000}
+CONCURRENCY=${2:-200}
+GATEWAY=http://localhost:8080
+JDK_IMAGE=${JDK_IMAGE:-amazoncorretto:21-alpine-jdk}
+
+cd "$(dirname "$0")/.."
+mvn -B -q clean package -Pvirtual-threads -DskipTests
+
+wait_for() {
+  for _ in $(seq 1 60); do
+    curl -sf "$1/actuator/health" > /dev/null && return 0
+    sleep 2
+  done
+  echo "$1 did not become healthy" >&2
+  exit 1
+}
+
+post() {
+  curl -sf -X POST "$GATEWAY$1" -H 'Content-Type: application/json' ${3:+-H "X-Sharer-User-Id: $3"} -d "$2"
+}
+
+seed() {
+  post /users '{"name":"owner","email":"owner@mail.com"}' > /dev/null
+  post /users '{"name":"booker","email":"booker@mail.com"}' > /dev/null
+  post /items '{"name":"drill","description":"cordless drill","available":true}' 1 > /dev/null
+  for day in $(seq 1 50); do
+    post /bookings "{\"itemId\":1,\"start\":\"2040-01-$(printf '%02d' $((day % 28 + 1)))T10:00:00\",\"end\":\"2040-02-01T10:00:00\"}" 2 > /dev/null
+  done
+}
+
+for virtual in false true; do
+  echo "=== shareit.threads.virtual=$virtual ==="
+  JDK_IMAGE=$JDK_IMAGE SHAREIT_THREADS_VIRTUAL=$virtual docker compose up -d --build > /dev/null
+  wait_for http://localhost:9090
+  wait_for $GATEWAY
+  seed
+
+  hey -n "$REQUESTS" -c "$CONCURRENCY" -H "X-Sharer-User-Id: 1" "$GATEWAY/bookings/owner?state=ALL" \
+    | grep -E "Requests/sec|Average|(50|95|99)% in|\[[0-9]{3}\]"
+  docker stats --no-stream --format "{{.Name}}: {{.MemUsage}}" shareit_gateway shareit_server
+
+  docker compose down -v > /dev/null
+done
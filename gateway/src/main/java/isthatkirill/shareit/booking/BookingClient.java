@@ -1,14 +1,16 @@
 package isthatkirill.shareit.booking;
 
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoRequest;
 import isthatkirill.shareit.booking.dto.BookingDtoRequest;
 import isthatkirill.shareit.client.BaseClient;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import isthatkirill.shareit.client.ServerTransportFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -16,46 +18,53 @@ public class BookingClient extends BaseClient {
 
     private static final String API_PREFIX = "/bookings";
 
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder rest) {
-        super(
-                rest
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerTransportFactory transports) {
+        super(transports.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(BookingDtoRequest bookingDtoRequest, Long userId) {
+    public Mono<ResponseEntity<Object>> create(BookingDtoRequest bookingDtoRequest, Long userId) {
         return post("", userId, bookingDtoRequest);
     }
 
-    public ResponseEntity<Object> approve(Long userId, Long bookingId, boolean isApproved) {
+    public Mono<ResponseEntity<Object>> approve(Long userId, Long bookingId, boolean isApproved) {
         Map<String, Object> parameters = Map.of("approved", isApproved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getByBookerId(Long bookerId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("?from={from}&size={size}&state={state}", bookerId, parameters);
+    public Mono<ResponseEntity<Object>> approveAll(Long userId, List<BookingApprovalDtoRequest> approvals) {
+        return patch("/batch", userId, approvals);
+    }
+
+    public Mono<ResponseEntity<Object>> getByBookerId(Long bookerId, String state, Integer from, Integer size, String after) {
+        return get("?from={from}&size={size}&state={state}" + cursorQuery(after), bookerId,
+                listParameters(state, from, size, after));
+    }
+
+    public Mono<ResponseEntity<StreamingResponseBody>> exportByBookerId(Long bookerId) {
+        return stream("/export", bookerId);
     }
 
-    public ResponseEntity<Object> getById(Long bookingId, Long userId) {
+    public Mono<ResponseEntity<Object>> getById(Long bookingId, Long userId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getByOwnerId(Long ownerId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getByOwnerId(Long ownerId, String state, Integer from, Integer size, String after) {
+        return get("/owner?from={from}&size={size}&state={state}" + cursorQuery(after), ownerId,
+                listParameters(state, from, size, after));
+    }
+
+    private static String cursorQuery(String after) {
+        return after == null ? "" : "&after={after}";
+    }
+
+    private static Map<String, Object> listParameters(String state, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("/owner?from={from}&size={size}&state={state}", ownerId, parameters);
+        ));
+        if (after != null) parameters.put("after", after);
+        return parameters;
     }
 
-
-
 }
@@ -4,11 +4,17 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoRequest;
 import isthatkirill.shareit.booking.dto.BookingDtoRequest;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Validated
 @RestController
@@ -19,38 +25,52 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestBody @Valid BookingDtoRequest bookingDtoRequest,
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Valid BookingDtoRequest bookingDtoRequest,
                                          @RequestHeader("X-Sharer-User-Id") Long userId) {
         return bookingClient.create(bookingDtoRequest, userId);
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> approveAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                             @RequestBody @NotEmpty @Size(max = 100)
+                                             List<@Valid BookingApprovalDtoRequest> approvals) {
+        return bookingClient.approveAll(userId, approvals);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approve(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> approve(@RequestHeader("X-Sharer-User-Id") Long userId,
                                           @PathVariable Long bookingId,
                                           @RequestParam(name = "approved") boolean isApproved) {
         return bookingClient.approve(userId, bookingId, isApproved);
     }
 
+    @GetMapping("/export")
+    public Mono<ResponseEntity<StreamingResponseBody>> exportByBookerId(@RequestHeader("X-Sharer-User-Id") Long bookerId) {
+        return bookingClient.exportByBookerId(bookerId);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getById(@PathVariable Long bookingId,
+    public Mono<ResponseEntity<Object>> getById(@PathVariable Long bookingId,
                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
         return bookingClient.getById(bookingId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getByBookerId(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+    public Mono<ResponseEntity<Object>> getByBookerId(@RequestHeader("X-Sharer-User-Id") Long bookerId,
                                                 @RequestParam(defaultValue = "ALL") String state,
                                                 @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                @RequestParam(defaultValue = "10") @Positive Integer size) {
-        return bookingClient.getByBookerId(bookerId, state, from, size);
+                                                @RequestParam(defaultValue = "10") @Positive Integer size,
+                                                @RequestParam(required = false) String after) {
+        return bookingClient.getByBookerId(bookerId, state, from, size, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getByOwnerId(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+    public Mono<ResponseEntity<Object>> getByOwnerId(@RequestHeader("X-Sharer-User-Id") Long ownerId,
                                                @RequestParam(defaultValue = "ALL") String state,
                                                @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                               @RequestParam(defaultValue = "10") @Positive Integer size) {
-        return bookingClient.getByOwnerId(ownerId, state, from, size);
+                                               @RequestParam(defaultValue = "10") @Positive Integer size,
+                                               @RequestParam(required = false) String after) {
+        return bookingClient.getByOwnerId(ownerId, state, from, size, after);
     }
 
 }
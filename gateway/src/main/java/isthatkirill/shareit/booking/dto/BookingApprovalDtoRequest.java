@@ -0,0 +1,22 @@
+package isthatkirill.shareit.booking.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import javax.validation.constraints.NotNull;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingApprovalDtoRequest {
+
+    @NotNull(message = "Booking id cannot be null")
+    Long bookingId;
+
+    @NotNull(message = "Approved flag cannot be null")
+    Boolean approved;
+
+}
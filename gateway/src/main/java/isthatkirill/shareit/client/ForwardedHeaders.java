@@ -0,0 +1,40 @@
+package isthatkirill.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+
+/**
+ * Server response headers that may be copied onto the gateway response. Hop-by-hop headers describe
+ * the gateway-to-server connection only, and the length is recomputed when the body is written.
+ */
+final class ForwardedHeaders {
+
+    private static final Set<String> HOP_BY_HOP = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            "keep-alive",
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.TE.toLowerCase(),
+            HttpHeaders.TRAILER.toLowerCase(),
+            HttpHeaders.UPGRADE.toLowerCase(),
+            HttpHeaders.PROXY_AUTHENTICATE.toLowerCase(),
+            HttpHeaders.PROXY_AUTHORIZATION.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase());
+
+    private ForwardedHeaders() {
+    }
+
+    static HttpHeaders of(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+
+}
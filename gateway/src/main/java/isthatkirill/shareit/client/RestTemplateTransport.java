@@ -0,0 +1,82 @@
+package isthatkirill.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Blocking transport: the call runs on the given scheduler, which is the subscribing servlet thread
+ * unless virtual threads are enabled. In passthrough mode the server body is kept as raw bytes; the
+ * server headers are forwarded in both modes.
+ */
+@RequiredArgsConstructor
+public class RestTemplateTransport implements ServerTransport {
+
+    private final RestTemplate rest;
+    private final Scheduler scheduler;
+    private final boolean passthrough;
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, new HttpEntity<>(body, headers), parameters))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<ResponseEntity<StreamingResponseBody>> stream(String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters) {
+        return Mono.fromCallable(() -> open(path, headers, parameters))
+                .subscribeOn(scheduler);
+    }
+
+    private ResponseEntity<StreamingResponseBody> open(String path, HttpHeaders headers,
+                                                       @Nullable Map<String, Object> parameters) throws IOException {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+        request.getHeaders().addAll(headers);
+        ClientHttpResponse response = request.execute();
+        return ResponseEntity.status(response.getRawStatusCode())
+                .headers(ForwardedHeaders.of(response.getHeaders()))
+                .body(out -> {
+                    try (response) {
+                        StreamUtils.copy(response.getBody(), out);
+                    }
+                });
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, String path, HttpEntity<Object> requestEntity,
+                                        @Nullable Map<String, Object> parameters) {
+        Class<?> bodyType = passthrough ? byte[].class : Object.class;
+        try {
+            ResponseEntity<?> response = parameters != null
+                    ? rest.exchange(path, method, requestEntity, bodyType, parameters)
+                    : rest.exchange(path, method, requestEntity, bodyType);
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(ForwardedHeaders.of(response.getHeaders()))
+                    .body(response.getBody());
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(ForwardedHeaders.of(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package isthatkirill.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool shared by every gateway client. All clients call the same server,
+ * so the per-route limit is normally as high as the total one.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.pool")
+public class ServerPoolProperties {
+
+    /**
+     * Maximum number of open connections to the server.
+     */
+    private int maxTotal = 200;
+
+    /**
+     * Maximum number of open connections to one host and port.
+     */
+    private int maxPerRoute = 200;
+
+    /**
+     * How long an idle connection may be reused when the server does not send a Keep-Alive header.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Interval of the background sweep that closes connections idle for longer than this.
+     */
+    private Duration idleEviction = Duration.ofSeconds(60);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * How long a request may wait for a free connection before failing.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+
+}
@@ -0,0 +1,27 @@
+package isthatkirill.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Sends one gateway call to the shareit server. Error statuses are returned as responses, not thrown.
+ */
+public interface ServerTransport {
+
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                          @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+    /**
+     * Sends a GET whose response body is copied to the client as it arrives instead of being read into
+     * memory first. The server headers are always forwarded, since the body is never re-serialized.
+     */
+    Mono<ResponseEntity<StreamingResponseBody>> stream(String path, HttpHeaders headers,
+                                                       @Nullable Map<String, Object> parameters);
+
+}
@@ -0,0 +1,128 @@
+package isthatkirill.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks how the gateway talks to the server: {@code shareit-server.client=rest-template} (default)
+ * or {@code web-client} for the non-blocking mode. Either way all clients share one connection pool
+ * configured by {@link ServerPoolProperties}. With {@code shareit-server.passthrough=true} (default) server
+ * responses are relayed as bytes instead of being parsed and written again by the gateway.
+ */
+@Configuration
+@EnableConfigurationProperties(ServerPoolProperties.class)
+public class ServerTransportConfig {
+
+    static final String POOL_NAME = "shareit-server";
+
+    @Configuration
+    @ConditionalOnProperty(name = "shareit-server.client", havingValue = "rest-template", matchIfMissing = true)
+    static class RestTemplateMode {
+
+        @Bean
+        public PoolingHttpClientConnectionManager serverConnectionManager(ServerPoolProperties pool) {
+            PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(pool.getMaxTotal());
+            connectionManager.setDefaultMaxPerRoute(pool.getMaxPerRoute());
+            return connectionManager;
+        }
+
+        @Bean(destroyMethod = "close")
+        public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                    ServerPoolProperties pool) {
+            long keepAlive = pool.getKeepAlive().toMillis();
+            return HttpClients.custom()
+                    .setConnectionManager(serverConnectionManager)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectTimeout((int) pool.getConnectTimeout().toMillis())
+                            .setSocketTimeout((int) pool.getReadTimeout().toMillis())
+                            .setConnectionRequestTimeout((int) pool.getConnectionRequestTimeout().toMillis())
+                            .build())
+                    .setKeepAliveStrategy((response, context) -> {
+                        long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE
+                                .getKeepAliveDuration(response, context);
+                        return advertised > 0 ? Math.min(advertised, keepAlive) : keepAlive;
+                    })
+                    .evictExpiredConnections()
+                    .evictIdleConnections(pool.getIdleEviction().toMillis(), TimeUnit.MILLISECONDS)
+                    .build();
+        }
+
+        @Bean
+        public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, POOL_NAME);
+        }
+
+        @Bean
+        public ServerTransportFactory restTemplateTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                                  @Value("${shareit-server.passthrough:true}")
+                                                                  boolean passthrough,
+                                                                  RestTemplateBuilder rest,
+                                                                  CloseableHttpClient serverHttpClient,
+                                                                  ObjectProvider<Scheduler> serverCallScheduler) {
+            Scheduler scheduler = serverCallScheduler.getIfAvailable(Schedulers::immediate);
+            return apiPrefix -> new RestTemplateTransport(rest
+                    .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                    .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(serverHttpClient))
+                    .build(), scheduler, passthrough);
+        }
+
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "shareit-server.client", havingValue = "web-client")
+    static class WebClientMode {
+
+        @Bean(destroyMethod = "dispose")
+        public ConnectionProvider serverConnectionProvider(ServerPoolProperties pool) {
+            return ConnectionProvider.builder(POOL_NAME)
+                    .maxConnections(pool.getMaxTotal())
+                    .pendingAcquireTimeout(pool.getConnectionRequestTimeout())
+                    .maxIdleTime(pool.getKeepAlive())
+                    .evictInBackground(pool.getIdleEviction())
+                    .metrics(true)
+                    .build();
+        }
+
+        @Bean
+        public ServerTransportFactory webClientTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                                @Value("${shareit-server.passthrough:true}")
+                                                                boolean passthrough,
+                                                                WebClient.Builder webClient,
+                                                                ConnectionProvider serverConnectionProvider,
+                                                                ServerPoolProperties pool) {
+            HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                    .responseTimeout(pool.getReadTimeout());
+            return apiPrefix -> new WebClientTransport(webClient.clone()
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                    .build(), passthrough);
+        }
+
+    }
+
+}
@@ -0,0 +1,8 @@
+package isthatkirill.shareit.client;
+
+@FunctionalInterface
+public interface ServerTransportFactory {
+
+    ServerTransport create(String apiPrefix);
+
+}
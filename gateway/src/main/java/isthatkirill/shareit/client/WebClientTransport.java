@@ -0,0 +1,71 @@
+package isthatkirill.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/**
+ * Non-blocking transport: no thread is held while the server is working on the request. In passthrough
+ * mode the server body is kept as raw bytes; the server headers are forwarded in both modes.
+ */
+@RequiredArgsConstructor
+public class WebClientTransport implements ServerTransport {
+
+    private final WebClient webClient;
+    private final boolean passthrough;
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(h -> h.addAll(headers));
+        if (body != null) {
+            request.bodyValue(body);
+        }
+        return request.exchangeToMono(response -> {
+            Class<?> bodyType = passthrough || !response.statusCode().is2xxSuccessful() ? byte[].class : Object.class;
+            return response.toEntity(bodyType).map(entity -> ResponseEntity.status(entity.getStatusCode())
+                    .headers(ForwardedHeaders.of(entity.getHeaders()))
+                    .body(entity.getBody()));
+        });
+    }
+
+    /**
+     * Error responses are read whole and returned with their status, as {@link #exchange} does. The copy of
+     * a successful body runs on the bounded elastic scheduler: the buffers arrive on the Netty event loop,
+     * which must not block on the servlet output stream.
+     */
+    @Override
+    public Mono<ResponseEntity<StreamingResponseBody>> stream(String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters) {
+        return webClient.get()
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(h -> h.addAll(headers))
+                .retrieve()
+                .toEntityFlux(DataBuffer.class)
+                .map(entity -> ResponseEntity.status(entity.getStatusCodeValue())
+                        .headers(ForwardedHeaders.of(entity.getHeaders()))
+                        .<StreamingResponseBody>body(out -> DataBufferUtils
+                                .write(entity.getBody().publishOn(Schedulers.boundedElastic()), out)
+                                .doOnNext(DataBufferUtils::release)
+                                .then()
+                                .block()))
+                .onErrorResume(WebClientResponseException.class, e -> Mono.just(
+                        ResponseEntity.status(e.getRawStatusCode())
+                                .headers(ForwardedHeaders.of(e.getHeaders()))
+                                .body(out -> out.write(e.getResponseBodyAsByteArray()))));
+    }
+
+}
@@ -1,15 +1,17 @@
 package isthatkirill.shareit.item;
 
 import isthatkirill.shareit.client.BaseClient;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import isthatkirill.shareit.client.ServerTransportFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import isthatkirill.shareit.item.comment.dto.CommentDtoRequest;
 import isthatkirill.shareit.item.dto.ItemDtoRequest;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,28 +19,27 @@ public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder rest) {
-        super(
-                rest
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerTransportFactory transports) {
+        super(transports.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(ItemDtoRequest itemDtoRequest, Long userId) {
+    public Mono<ResponseEntity<Object>> create(ItemDtoRequest itemDtoRequest, Long userId) {
         return post("", userId, itemDtoRequest);
     }
 
-    public ResponseEntity<Object> update(ItemDtoRequest itemDtoRequest, Long userId, Long itemId) {
+    public Mono<ResponseEntity<Object>> createAll(List<ItemDtoRequest> itemDtoRequests, Long userId) {
+        return post("/batch", userId, itemDtoRequests);
+    }
+
+    public Mono<ResponseEntity<Object>> update(ItemDtoRequest itemDtoRequest, Long userId, Long itemId) {
         return patch("/" + itemId, userId, itemDtoRequest);
     }
 
-    public ResponseEntity<Object> getById(Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> getById(Long itemId, Long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getByOwner(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getByOwner(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -47,7 +48,11 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> search(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<StreamingResponseBody>> exportByOwner(Long userId) {
+        return stream("/export", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> search(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size,
@@ -57,8 +62,26 @@ public class ItemClient extends BaseClient {
         return get("/search?from={from}&size={size}&text={text}", null, parameters);
     }
 
-    public ResponseEntity<Object> createComment(Long itemId, Long userId, CommentDtoRequest commentDtoRequest) {
+    public Mono<ResponseEntity<Object>> getAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(Long itemId, Long userId, CommentDtoRequest commentDtoRequest) {
         return post("/" + itemId + "/comment", userId, commentDtoRequest);
     }
 
+    public Mono<ResponseEntity<Object>> getComments(Long itemId, String cursor, Integer size) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "size", size
+        ));
+        if (cursor != null) parameters.put("cursor", cursor);
+        return get("/" + itemId + "/comments?size={size}" + (cursor == null ? "" : "&cursor={cursor}"), null,
+                parameters);
+    }
+
 }
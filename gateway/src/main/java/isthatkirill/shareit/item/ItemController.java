@@ -3,13 +3,21 @@ package isthatkirill.shareit.item;
 import isthatkirill.shareit.item.comment.dto.CommentDtoRequest;
 import isthatkirill.shareit.item.dto.ItemDtoRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Validated
 @RestController
@@ -20,42 +28,72 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestBody @Valid ItemDtoRequest itemDtoRequest, @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Valid ItemDtoRequest itemDtoRequest, @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemClient.create(itemDtoRequest, userId);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestBody @NotEmpty @Size(max = 1000)
+                                            List<@Valid ItemDtoRequest> itemDtoRequests,
+                                            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemClient.createAll(itemDtoRequests, userId);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestBody ItemDtoRequest itemDtoRequest,
+    public Mono<ResponseEntity<Object>> update(@RequestBody ItemDtoRequest itemDtoRequest,
                                          @RequestHeader("X-Sharer-User-Id") Long userId,
                                          @PathVariable Long itemId) {
         return itemClient.update(itemDtoRequest, userId, itemId);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(@PathVariable Long itemId,
+    public Mono<ResponseEntity<Object>> getById(@PathVariable Long itemId,
                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemClient.getById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
                                              @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
                                              @RequestParam(defaultValue = "10") @Positive Integer size) {
         return itemClient.getByOwner(userId, from, size);
     }
 
+    @GetMapping("/export")
+    public Mono<ResponseEntity<StreamingResponseBody>> exportByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemClient.exportByOwner(userId);
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam("text") String text,
+    public Mono<ResponseEntity<Object>> search(@RequestParam("text") String text,
                                          @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
                                          @RequestParam(defaultValue = "10") @Positive Integer size) {
         return itemClient.search(text, from, size);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@PathVariable Long itemId,
+                                                  @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Parameter 'from' must be before 'to'");
+        }
+        return itemClient.getAvailability(itemId, userId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@PathVariable Long itemId,
+    public Mono<ResponseEntity<Object>> createComment(@PathVariable Long itemId,
                                                 @RequestHeader("X-Sharer-User-Id") Long userId,
                                                 @RequestBody @Valid CommentDtoRequest commentDtoRequest) {
         return itemClient.createComment(itemId, userId, commentDtoRequest);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public Mono<ResponseEntity<Object>> getComments(@PathVariable Long itemId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "10") @Positive @Max(100) Integer size) {
+        return itemClient.getComments(itemId, cursor, size);
+    }
+
 }
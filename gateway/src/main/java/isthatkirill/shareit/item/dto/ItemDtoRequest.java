@@ -15,6 +15,8 @@ public class ItemDtoRequest {
 
     Long id;
 
+    Long version;
+
     @NotBlank(message = "Name cannot be empty or null")
     String name;
 
@@ -20,6 +20,7 @@ public class ItemDtoResponse {
     Boolean available;
     BookingShort nextBooking;
     BookingShort lastBooking;
+    Integer commentCount;
     List<CommentDtoResponse> comments;
 
 }
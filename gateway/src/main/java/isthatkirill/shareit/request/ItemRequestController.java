@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -19,25 +20,27 @@ public class ItemRequestController {
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestBody @Valid ItemRequestDto itemRequestDto,
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Valid ItemRequestDto itemRequestDto,
                                          @RequestHeader("X-Sharer-User-Id") Long userId) {
         return requestClient.create(itemRequestDto, userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAll(@RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+    public Mono<ResponseEntity<Object>> getAll(@RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
                                          @RequestParam(defaultValue = "10") @Positive Integer size,
                                          @RequestHeader("X-Sharer-User-Id") Long userId) {
         return requestClient.getAll(from, size, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getOwn(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        return requestClient.getOwn(userId);
+    public Mono<ResponseEntity<Object>> getOwn(@RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                         @RequestParam(defaultValue = "10") @Positive Integer size,
+                                         @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return requestClient.getOwn(from, size, userId);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getById(@PathVariable Long requestId,
+    public Mono<ResponseEntity<Object>> getById(@PathVariable Long requestId,
                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
         return requestClient.getById(requestId, userId);
     }
@@ -1,12 +1,10 @@
 package isthatkirill.shareit.request;
 
 import isthatkirill.shareit.client.BaseClient;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import isthatkirill.shareit.client.ServerTransportFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import isthatkirill.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -16,20 +14,15 @@ public class RequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder rest) {
-        super(
-                rest
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public RequestClient(ServerTransportFactory transports) {
+        super(transports.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(ItemRequestDto itemRequestDto, Long userId) {
+    public Mono<ResponseEntity<Object>> create(ItemRequestDto itemRequestDto, Long userId) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getAll(Integer from, Integer size, Long userId) {
+    public Mono<ResponseEntity<Object>> getAll(Integer from, Integer size, Long userId) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -38,11 +31,16 @@ public class RequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOwn(Long userId) {
-        return get("", userId);
+    public Mono<ResponseEntity<Object>> getOwn(Integer from, Integer size, Long userId) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+
+        return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(Long requestId, Long userId) {
+    public Mono<ResponseEntity<Object>> getById(Long requestId, Long userId) {
         return get("/" + requestId, userId);
     }
 
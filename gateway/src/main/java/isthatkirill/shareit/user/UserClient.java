@@ -1,47 +1,52 @@
 package isthatkirill.shareit.user;
 
 import isthatkirill.shareit.client.BaseClient;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import isthatkirill.shareit.client.ServerTransportFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import isthatkirill.shareit.user.dto.UserDto;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder rest) {
-        super(
-                rest
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerTransportFactory transports) {
+        super(transports.create(API_PREFIX));
+    }
+
+    public Mono<ResponseEntity<Object>> getAll(Integer from, Integer size, Long after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from,
+                "size", size
+        ));
+        if (after != null) parameters.put("after", after);
+        return get("?from={from}&size={size}" + (after == null ? "" : "&after={after}"), null, parameters);
     }
 
-    public ResponseEntity<Object> getAll() {
-        return get("");
+    public Mono<ResponseEntity<StreamingResponseBody>> exportAll() {
+        return stream("/export", null);
     }
 
-    public ResponseEntity<Object> getById(Long userId) {
+    public Mono<ResponseEntity<Object>> getById(Long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> create(UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> update(UserDto userDto, Long userId) {
+    public Mono<ResponseEntity<Object>> update(UserDto userDto, Long userId) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> delete(Long userId) {
+    public Mono<ResponseEntity<Object>> delete(Long userId) {
         return delete("/" + userId);
     }
 
-
 }
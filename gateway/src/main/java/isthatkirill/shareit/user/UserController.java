@@ -5,8 +5,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
 @Validated
 @RestController
@@ -17,28 +22,35 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
-        return userClient.getAll();
+    public Mono<ResponseEntity<Object>> getAll(@RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                               @RequestParam(defaultValue = "10") @Positive @Max(1000) Integer size,
+                                               @RequestParam(required = false) @Positive Long after) {
+        return userClient.getAll(from, size, after);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<StreamingResponseBody>> exportAll() {
+        return userClient.exportAll();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getById(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> getById(@PathVariable Long userId) {
         return userClient.getById(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestBody @Valid UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Valid UserDto userDto) {
         return userClient.create(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@RequestBody UserDto userDto, @PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> update(@RequestBody UserDto userDto, @PathVariable Long userId) {
         return userClient.update(userDto, userId);
     }
 
     @DeleteMapping("/{userId}")
-    public void delete(@PathVariable Long userId) {
-        userClient.delete(userId);
+    public Mono<Void> delete(@PathVariable Long userId) {
+        return userClient.delete(userId).then();
     }
 
 }
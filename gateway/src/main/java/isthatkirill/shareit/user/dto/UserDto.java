@@ -16,6 +16,8 @@ public class UserDto {
 
     Long id;
 
+    Long version;
+
     @NotBlank(message = "Name cannot be empty or null")
     String name;
 
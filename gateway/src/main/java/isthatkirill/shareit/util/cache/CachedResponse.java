@@ -0,0 +1,16 @@
+package isthatkirill.shareit.util.cache;
+
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+@Value
+public class CachedResponse {
+
+    HttpHeaders headers;
+    byte[] body;
+    String etag;
+    Duration ttl;
+
+}
@@ -0,0 +1,69 @@
+package isthatkirill.shareit.util.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serves repeated GETs of the configured routes from memory. Entries live for their route's TTL, or less
+ * when the body says it changes sooner, are bounded by total body size and are dropped when a matching
+ * write goes through the gateway.
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnProperty(name = "shareit-gateway.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    static final String CACHE_NAME = "gateway-responses";
+
+    @Bean
+    public Cache<ResponseCacheFilter.Key, CachedResponse> responseCache(ResponseCacheProperties properties,
+                                                                        ObjectProvider<MeterRegistry> registry) {
+        Cache<ResponseCacheFilter.Key, CachedResponse> cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((ResponseCacheFilter.Key key, CachedResponse response) -> response.getBody().length)
+                .expireAfter(expiry())
+                .recordStats()
+                .build();
+        registry.ifAvailable(meterRegistry -> CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME));
+        return cache;
+    }
+
+    /**
+     * Each entry lives for the TTL it was stored with; reading it does not extend it.
+     */
+    static Expiry<ResponseCacheFilter.Key, CachedResponse> expiry() {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(ResponseCacheFilter.Key key, CachedResponse response, long currentTime) {
+                return response.getTtl().toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(ResponseCacheFilter.Key key, CachedResponse response,
+                                          long currentTime, long currentDuration) {
+                return response.getTtl().toNanos();
+            }
+
+            @Override
+            public long expireAfterRead(ResponseCacheFilter.Key key, CachedResponse response,
+                                        long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    @Bean
+    public ResponseCacheFilter responseCacheFilter(Cache<ResponseCacheFilter.Key, CachedResponse> responseCache,
+                                                   ResponseCacheProperties properties) {
+        return new ResponseCacheFilter(responseCache, properties.getRoutes());
+    }
+
+}
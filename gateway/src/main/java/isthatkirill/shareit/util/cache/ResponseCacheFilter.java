@@ -0,0 +1,250 @@
+package isthatkirill.shareit.util.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import isthatkirill.shareit.util.cache.ResponseCacheProperties.Route;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Caches {@code 200} responses of the configured GET routes by path, query and {@code X-Sharer-User-Id}.
+ * Every cached response carries an ETag (the server's one, or a hash of the body), so a matching
+ * {@code If-None-Match} is answered with {@code 304}. A write to one of a route's invalidating prefixes drops
+ * all entries of that route before it is forwarded, and once more if it succeeds. A response that changes with
+ * time, like an owner's item whose next booking is about to start, is only kept until that time.
+ * Like {@link org.springframework.web.filter.ShallowEtagHeaderFilter} it also runs on the async dispatch,
+ * because the controllers return {@code Mono}.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private static final String GENERATION_ATTRIBUTE = ResponseCacheFilter.class.getName() + ".GENERATION";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final Cache<Key, CachedResponse> cache;
+    private final List<Route> routes;
+
+    /**
+     * Bumped on every invalidation of a route, so a response read before a write is not cached after it.
+     */
+    private final Map<String, AtomicLong> generations;
+
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public ResponseCacheFilter(Cache<Key, CachedResponse> cache, List<Route> routes) {
+        this(cache, routes, Clock.systemDefaultZone());
+    }
+
+    ResponseCacheFilter(Cache<Key, CachedResponse> cache, List<Route> routes, Clock clock) {
+        this.cache = cache;
+        this.routes = List.copyOf(routes);
+        this.clock = clock;
+        this.generations = routes.stream()
+                .collect(Collectors.toMap(Route::getPattern, route -> new AtomicLong()));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            Route route = findRoute(path);
+            if (route != null) {
+                doCachedGet(route, request, response, chain);
+                return;
+            }
+        }
+
+        boolean write = WRITE_METHODS.contains(request.getMethod());
+        if (write && !isAsyncDispatch(request)) {
+            // the response of a write may reach the client before the invalidation below runs on the async
+            // dispatch, so a GET sent right after it must already miss
+            invalidate(path);
+        }
+
+        chain.doFilter(request, response);
+
+        if (write && !isAsyncStarted(request) && response.getStatus() / 100 == 2) {
+            // drops what GETs cached while the write was running on the server
+            invalidate(path);
+        }
+    }
+
+    private void doCachedGet(Route route, HttpServletRequest request, HttpServletResponse response,
+                             FilterChain chain) throws ServletException, IOException {
+        Key key = new Key(route.getPattern(), uri(request), request.getHeader(USER_HEADER));
+        if (!isAsyncDispatch(request)) {
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null) {
+                write(cached, request, response);
+                return;
+            }
+            request.setAttribute(GENERATION_ATTRIBUTE, generations.get(route.getPattern()).get());
+        }
+
+        HttpServletResponse responseToUse = isAsyncDispatch(request)
+                ? response
+                : new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, responseToUse);
+
+        if (!isAsyncStarted(request)) {
+            ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(responseToUse,
+                    ContentCachingResponseWrapper.class);
+            if (wrapper == null) {
+                return;
+            }
+            if (wrapper.getStatus() == HttpStatus.OK.value()) {
+                String etag = store(key, route, request, wrapper);
+                HttpServletResponse rawResponse = (HttpServletResponse) wrapper.getResponse();
+                if (new ServletWebRequest(request, rawResponse).checkNotModified(etag)) {
+                    return;
+                }
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private String store(Key key, Route route, HttpServletRequest request, ContentCachingResponseWrapper response) {
+        byte[] body = response.getContentAsByteArray();
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag == null) {
+            etag = "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+            response.setHeader(HttpHeaders.ETAG, etag);
+        }
+
+        AtomicLong generation = generations.get(route.getPattern());
+        Long readAt = (Long) request.getAttribute(GENERATION_ATTRIBUTE);
+        Duration ttl = ttl(route, body);
+        if (readAt != null && readAt == generation.get() && !ttl.isNegative() && !ttl.isZero()) {
+            cache.put(key, new CachedResponse(headers(response), body, etag, ttl));
+            if (readAt != generation.get()) {
+                cache.invalidate(key);
+            }
+        }
+        return etag;
+    }
+
+    /**
+     * The route's TTL, cut short at the earliest of its {@code expires-at} times found in the body. Those are
+     * local date-times of the server, which runs in the same time zone as the gateway. A body that cannot be
+     * read gets no TTL, so it is not cached.
+     */
+    private Duration ttl(Route route, byte[] body) {
+        Duration ttl = route.getTtl();
+        if (route.getExpiresAt().isEmpty()) {
+            return ttl;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            LocalDateTime now = LocalDateTime.now(clock);
+            for (String pointer : route.getExpiresAt()) {
+                JsonNode value = root.at(pointer);
+                if (value.isTextual()) {
+                    Duration left = Duration.between(now, LocalDateTime.parse(value.asText()));
+                    ttl = left.compareTo(ttl) < 0 ? left : ttl;
+                }
+            }
+            return ttl;
+        } catch (IOException | DateTimeParseException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        cached.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        if (new ServletWebRequest(request, response).checkNotModified(cached.getEtag())) {
+            return;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentLength(cached.getBody().length);
+        response.getOutputStream().write(cached.getBody());
+    }
+
+    private void invalidate(String path) {
+        Set<String> patterns = routes.stream()
+                .filter(route -> route.getInvalidatedBy().stream().anyMatch(path::startsWith))
+                .map(Route::getPattern)
+                .collect(Collectors.toSet());
+        if (patterns.isEmpty()) {
+            return;
+        }
+        patterns.forEach(pattern -> generations.get(pattern).incrementAndGet());
+        cache.asMap().keySet().removeIf(key -> patterns.contains(key.getRoute()));
+    }
+
+    @Nullable
+    private Route findRoute(String path) {
+        return routes.stream()
+                .filter(route -> pathMatcher.match(route.getPattern(), path))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private String uri(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String path = urlPathHelper.getPathWithinApplication(request);
+        return query != null ? path + "?" + query : path;
+    }
+
+    private static HttpHeaders headers(HttpServletResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : response.getHeaderNames()) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        if (response.getContentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, response.getContentType());
+        }
+        return headers;
+    }
+
+    @Value
+    public static class Key {
+
+        String route;
+        String uri;
+        @Nullable
+        String userId;
+
+    }
+
+}
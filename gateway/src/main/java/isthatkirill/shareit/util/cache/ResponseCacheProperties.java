@@ -0,0 +1,53 @@
+package isthatkirill.shareit.util.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gateway cache for successful GET responses. Only routes listed here are cached.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Total size of cached response bodies. The least valuable entries are evicted first.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+
+        /**
+         * Ant-style pattern of the cached GET path, e.g. {@code /items/{itemId:\d+}}.
+         */
+        private String pattern;
+
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * Path prefixes whose successful POST, PATCH or DELETE drops every cached response of this route.
+         */
+        private List<String> invalidatedBy = new ArrayList<>();
+
+        /**
+         * JSON pointers to ISO local date-times in the response body, e.g. {@code /nextBooking/start}. A response
+         * changes on its own once one of them passes, so its entry never outlives the earliest.
+         */
+        private List<String> expiresAt = new ArrayList<>();
+
+    }
+
+}
@@ -0,0 +1,23 @@
+package isthatkirill.shareit.util.thread;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The project still compiles for Java 11, so the Java 21 executor is looked up at runtime.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("shareit.threads.virtual=true requires Java 21 or newer, running on "
+                    + Runtime.version(), e);
+        }
+    }
+
+}
@@ -11,8 +11,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 import isthatkirill.shareit.booking.BookingClient;
 import isthatkirill.shareit.booking.BookingController;
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoRequest;
 import isthatkirill.shareit.booking.dto.BookingDtoRequest;
 import isthatkirill.shareit.booking.dto.BookingDtoResponse;
 import isthatkirill.shareit.booking.dto.Status;
@@ -25,7 +28,9 @@ import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -64,14 +69,18 @@ class BookingControllerTest {
     @Test
     @SneakyThrows
     void createTest() {
-        when(bookingClient.create(any(), anyLong())).thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.OK));
+        when(bookingClient.create(any(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.OK)));
 
-        mvc.perform(post("/bookings")
+        MvcResult result = mvc.perform(post("/bookings")
                         .content(mapper.writeValueAsString(bookingDtoRequest))
                         .header("X-Sharer-User-Id", 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(bookingDtoResponse.getId()))
                 .andExpect(jsonPath("$.booker").value(bookingDtoResponse.getBooker()))
@@ -85,7 +94,7 @@ class BookingControllerTest {
     @SneakyThrows
     void createNullStartTest() {
         bookingDtoRequest.setStart(null);
-        when(bookingClient.create(any(), anyLong())).thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST));
+        when(bookingClient.create(any(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/bookings")
                         .content(mapper.writeValueAsString(bookingDtoRequest))
@@ -104,7 +113,7 @@ class BookingControllerTest {
     @SneakyThrows
     void createNullEndTest() {
         bookingDtoRequest.setEnd(null);
-        when(bookingClient.create(any(), anyLong())).thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST));
+        when(bookingClient.create(any(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/bookings")
                         .content(mapper.writeValueAsString(bookingDtoRequest))
@@ -123,7 +132,7 @@ class BookingControllerTest {
     @SneakyThrows
     void createStartInPastTest() {
         bookingDtoRequest.setStart(LocalDateTime.now().minusDays(1));
-        when(bookingClient.create(any(), anyLong())).thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST));
+        when(bookingClient.create(any(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/bookings")
                         .content(mapper.writeValueAsString(bookingDtoRequest))
@@ -142,7 +151,7 @@ class BookingControllerTest {
     @SneakyThrows
     void createEndInPastTest() {
         bookingDtoRequest.setEnd(LocalDateTime.now().minusDays(1));
-        when(bookingClient.create(any(), anyLong())).thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST));
+        when(bookingClient.create(any(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/bookings")
                         .content(mapper.writeValueAsString(bookingDtoRequest))
@@ -162,7 +171,7 @@ class BookingControllerTest {
     void createEndEarlierThanStartTest() {
         bookingDtoRequest.setEnd(LocalDateTime.now().plusDays(1));
         bookingDtoRequest.setStart(LocalDateTime.now().plusDays(2));
-        when(bookingClient.create(any(), anyLong())).thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST));
+        when(bookingClient.create(any(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/bookings")
                         .content(mapper.writeValueAsString(bookingDtoRequest))
@@ -184,7 +193,7 @@ class BookingControllerTest {
 
         bookingDtoRequest.setEnd(time);
         bookingDtoRequest.setStart(time);
-        when(bookingClient.create(any(), anyLong())).thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST));
+        when(bookingClient.create(any(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/bookings")
                         .content(mapper.writeValueAsString(bookingDtoRequest))
@@ -202,7 +211,7 @@ class BookingControllerTest {
     @Test
     @SneakyThrows
     void createWithMissingHeaderTest() {
-        when(bookingClient.create(any(), anyLong())).thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST));
+        when(bookingClient.create(any(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/bookings")
                         .content(mapper.writeValueAsString(bookingDtoRequest))
@@ -222,13 +231,17 @@ class BookingControllerTest {
         boolean approved = true;
 
         when(bookingClient.approve(anyLong(), anyLong(), anyBoolean()))
-                .thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.OK)));
 
-        mvc.perform(patch("/bookings/{bookingId}?approved={approved}", bookingId, approved)
+        MvcResult result = mvc.perform(patch("/bookings/{bookingId}?approved={approved}", bookingId, approved)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(bookingDtoResponse.getId()))
                 .andExpect(jsonPath("$.booker").value(bookingDtoResponse.getBooker()))
@@ -246,7 +259,7 @@ class BookingControllerTest {
         Long bookingId = 1L;
 
         when(bookingClient.approve(anyLong(), anyLong(), anyBoolean()))
-                .thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(patch("/bookings/{bookingId}", bookingId)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -259,6 +272,55 @@ class BookingControllerTest {
         verify(bookingClient, never()).approve(anyLong(), anyLong(), anyBoolean());
     }
 
+    @Test
+    @SneakyThrows
+    void approveAllTest() {
+        List<BookingApprovalDtoRequest> approvals = List.of(new BookingApprovalDtoRequest(1L, true),
+                new BookingApprovalDtoRequest(2L, false));
+
+        when(bookingClient.approveAll(anyLong(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.OK)));
+
+        MvcResult result = mvc.perform(patch("/bookings/batch")
+                        .content(mapper.writeValueAsString(approvals))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bookingDtoResponse.getId()));
+
+        verify(bookingClient, times(1)).approveAll(eq(1L), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void approveAllInvalidTest() {
+        mvc.perform(patch("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(new BookingApprovalDtoRequest(1L, null))))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"));
+
+        mvc.perform(patch("/bookings/batch")
+                        .content("[]")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"));
+
+        verify(bookingClient, never()).approveAll(anyLong(), any());
+    }
+
     @Test
     @SneakyThrows
     void approveMissingRequestHeaderTest() {
@@ -266,7 +328,7 @@ class BookingControllerTest {
         boolean approved = true;
 
         when(bookingClient.approve(anyLong(), anyLong(), anyBoolean()))
-                .thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(patch("/bookings/{bookingId}?approved={approved}", bookingId, approved)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -283,12 +345,16 @@ class BookingControllerTest {
     void getByIdTest() {
         Long bookingId = 1L;
 
-        when(bookingClient.getById(anyLong(), anyLong())).thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.OK));
+        when(bookingClient.getById(anyLong(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.OK)));
 
-        mvc.perform(get("/bookings/{bookingId}", bookingId)
+        MvcResult result = mvc.perform(get("/bookings/{bookingId}", bookingId)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", 1L)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(bookingDtoResponse.getId()))
                 .andExpect(jsonPath("$.booker").value(bookingDtoResponse.getBooker()))
@@ -305,7 +371,7 @@ class BookingControllerTest {
     void getByIdMissingRequestHeaderTest() {
         Long bookingId = 1L;
 
-        when(bookingClient.getById(anyLong(), anyLong())).thenReturn(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST));
+        when(bookingClient.getById(anyLong(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(bookingDtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/bookings/{bookingId}", bookingId)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -322,13 +388,17 @@ class BookingControllerTest {
         String state = "FUTURE";
         int from = 1, size = 4;
 
-        when(bookingClient.getByBookerId(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.OK));
+        when(bookingClient.getByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.OK)));
 
-        mvc.perform(get("/bookings?state={state}&from={from}&size={size}", state, from, size)
+        MvcResult result = mvc.perform(get("/bookings?state={state}&from={from}&size={size}", state, from, size)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", 1L)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(bookingDtoResponse.getId()))
                 .andExpect(jsonPath("$[0].booker").value(bookingDtoResponse.getBooker()))
@@ -337,19 +407,48 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].end").hasJsonPath())
                 .andExpect(jsonPath("$[0].status").value(bookingDtoResponse.getStatus().name()));
 
-        verify(bookingClient, times(1)).getByBookerId(1L, state, from, size);
+        verify(bookingClient, times(1)).getByBookerId(1L, state, from, size, null);
+    }
+
+    @Test
+    @SneakyThrows
+    void getByBookerIdAfterCursorTest() {
+        String after = "2030-01-01T10:00:00,15";
+
+        when(bookingClient.getByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .header("X-Next-Cursor", "2029-12-01T10:00:00,7")
+                        .body(List.of(bookingDtoResponse))));
+
+        MvcResult result = mvc.perform(get("/bookings?after={after}", after)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2029-12-01T10:00:00,7"))
+                .andExpect(jsonPath("$[0].id").value(bookingDtoResponse.getId()));
+
+        verify(bookingClient, times(1)).getByBookerId(1L, "ALL", 0, 10, after);
     }
 
     @Test
     @SneakyThrows
     void getByBookerIdDefaultParamsTest() {
-        when(bookingClient.getByBookerId(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.OK));
+        when(bookingClient.getByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.OK)));
 
-        mvc.perform(get("/bookings")
+        MvcResult result = mvc.perform(get("/bookings")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", 1L)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(bookingDtoResponse.getId()))
                 .andExpect(jsonPath("$[0].booker").value(bookingDtoResponse.getBooker()))
@@ -358,7 +457,7 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].end").hasJsonPath())
                 .andExpect(jsonPath("$[0].status").value(bookingDtoResponse.getStatus().name()));
 
-        verify(bookingClient, times(1)).getByBookerId(1L, "ALL", 0, 10);
+        verify(bookingClient, times(1)).getByBookerId(1L, "ALL", 0, 10, null);
     }
 
     @Test
@@ -366,8 +465,8 @@ class BookingControllerTest {
     void getByBookerIdInvalidStartTest() {
         int from = -1;
 
-        when(bookingClient.getByBookerId(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.BAD_REQUEST));
+        when(bookingClient.getByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/bookings?from={from}", from)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -376,14 +475,14 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Validation error"));
 
-        verify(bookingClient, never()).getByBookerId(anyLong(), anyString(), anyInt(), anyInt());
+        verify(bookingClient, never()).getByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 
     @Test
     @SneakyThrows
     void getByBookerIdMissingRequestHeaderTest() {
-        when(bookingClient.getByBookerId(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.BAD_REQUEST));
+        when(bookingClient.getByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/bookings")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -391,7 +490,7 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Missing request header"));
 
-        verify(bookingClient, never()).getByBookerId(anyLong(), anyString(), anyInt(), anyInt());
+        verify(bookingClient, never()).getByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -400,13 +499,17 @@ class BookingControllerTest {
         String state = "FUTURE";
         int from = 1, size = 4;
 
-        when(bookingClient.getByOwnerId(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.OK));
+        when(bookingClient.getByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.OK)));
 
-        mvc.perform(get("/bookings/owner?state={state}&from={from}&size={size}", state, from, size)
+        MvcResult result = mvc.perform(get("/bookings/owner?state={state}&from={from}&size={size}", state, from, size)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", 1L)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(bookingDtoResponse.getId()))
                 .andExpect(jsonPath("$[0].booker").value(bookingDtoResponse.getBooker()))
@@ -415,19 +518,23 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].end").hasJsonPath())
                 .andExpect(jsonPath("$[0].status").value(bookingDtoResponse.getStatus().name()));
 
-        verify(bookingClient, times(1)).getByOwnerId(1L, state, from, size);
+        verify(bookingClient, times(1)).getByOwnerId(1L, state, from, size, null);
     }
 
     @Test
     @SneakyThrows
     void getByOwnerIdDefaultParamsTest() {
-        when(bookingClient.getByOwnerId(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.OK));
+        when(bookingClient.getByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.OK)));
 
-        mvc.perform(get("/bookings/owner")
+        MvcResult result = mvc.perform(get("/bookings/owner")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", 1L)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(bookingDtoResponse.getId()))
                 .andExpect(jsonPath("$[0].booker").value(bookingDtoResponse.getBooker()))
@@ -436,7 +543,7 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].end").hasJsonPath())
                 .andExpect(jsonPath("$[0].status").value(bookingDtoResponse.getStatus().name()));
 
-        verify(bookingClient, times(1)).getByOwnerId(1L, "ALL", 0, 10);
+        verify(bookingClient, times(1)).getByOwnerId(1L, "ALL", 0, 10, null);
     }
 
     @Test
@@ -444,8 +551,8 @@ class BookingControllerTest {
     void getByOwnerIdInvalidStartTest() {
         int from = -1;
 
-        when(bookingClient.getByOwnerId(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.BAD_REQUEST));
+        when(bookingClient.getByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/bookings/owner?from={from}", from)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -454,14 +561,14 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Validation error"));
 
-        verify(bookingClient, never()).getByOwnerId(anyLong(), anyString(), anyInt(), anyInt());
+        verify(bookingClient, never()).getByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 
     @Test
     @SneakyThrows
     void getByOwnerIdMissingRequestHeaderTest() {
-        when(bookingClient.getByOwnerId(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.BAD_REQUEST));
+        when(bookingClient.getByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(bookingDtoResponse), HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/bookings/owner")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -469,7 +576,7 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Missing request header"));
 
-        verify(bookingClient, never()).getByOwnerId(anyLong(), anyString(), anyInt(), anyInt());
+        verify(bookingClient, never()).getByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 
 }
\ No newline at end of file
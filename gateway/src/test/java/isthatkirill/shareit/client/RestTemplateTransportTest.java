@@ -0,0 +1,181 @@
+package isthatkirill.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RestTemplateTransportTest {
+
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+    private RestTemplateTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        transport = new RestTemplateTransport(rest, Schedulers.immediate(), false);
+    }
+
+    @Test
+    void exchangeExpandsParametersTest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+        server.expect(requestTo("http://server/items?from=0&size=10"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "?from={from}&size={size}", headers,
+                Map.of("from", 0, "size", 10), null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).asList().hasSize(1);
+        server.verify();
+    }
+
+    @Test
+    void exchangeRunsOnSchedulerTest() {
+        Scheduler scheduler = Schedulers.newSingle("server-call");
+        AtomicReference<String> thread = new AtomicReference<>();
+        server.expect(requestTo("http://server/items/1"))
+                .andRespond(request -> {
+                    thread.set(Thread.currentThread().getName());
+                    return withSuccess().createResponse(request);
+                });
+
+        new RestTemplateTransport(rest, scheduler, false).exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null)
+                .block();
+
+        assertThat(thread.get()).startsWith("server-call");
+        scheduler.dispose();
+    }
+
+    @Test
+    void exchangeReturnsErrorStatusWithRawBodyTest() {
+        server.expect(requestTo("http://server/items/100"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).body("{\"error\":\"Not found\"}"));
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/100", new HttpHeaders(),
+                null, null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat((byte[]) response.getBody()).asString().isEqualTo("{\"error\":\"Not found\"}");
+    }
+
+    @Test
+    void exchangeRelaysServerHeadersTest() {
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        serverHeaders.setETag("\"item-1-v1\"");
+        serverHeaders.set("X-Next-Cursor", "abc");
+        server.expect(requestTo("http://server/items?size=1"))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON).headers(serverHeaders));
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "?size=1", new HttpHeaders(),
+                null, null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getBody()).asList().hasSize(1);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"item-1-v1\"");
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("abc");
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders()).doesNotContainKeys(HttpHeaders.CONNECTION, HttpHeaders.CONTENT_LENGTH);
+    }
+
+    @Test
+    void passthroughKeepsServerBytesAndHeadersTest() {
+        String page = "[{\"id\":1,\"name\":\"Drill\"}]";
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        serverHeaders.set("X-Total-Count", "1");
+        server.expect(requestTo("http://server/items/1"))
+                .andRespond(withSuccess(page, MediaType.APPLICATION_JSON).headers(serverHeaders));
+
+        ResponseEntity<Object> response = new RestTemplateTransport(rest, Schedulers.immediate(), true)
+                .exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((byte[]) response.getBody()).asString().isEqualTo(page);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getFirst("X-Total-Count")).isEqualTo("1");
+        assertThat(response.getHeaders()).doesNotContainKey(HttpHeaders.CONNECTION);
+    }
+
+    @Test
+    void passthroughKeepsErrorHeadersTest() {
+        server.expect(requestTo("http://server/items/100"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"Not found\"}"));
+
+        ResponseEntity<Object> response = new RestTemplateTransport(rest, Schedulers.immediate(), true)
+                .exchange(HttpMethod.GET, "/100", new HttpHeaders(), null, null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat((byte[]) response.getBody()).asString().isEqualTo("{\"error\":\"Not found\"}");
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void streamCopiesServerBodyAndHeadersTest() throws Exception {
+        String lines = "{\"id\":1}\n{\"id\":2}\n";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+        server.expect(requestTo("http://server/items/export"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(lines, MediaType.APPLICATION_NDJSON));
+
+        ResponseEntity<StreamingResponseBody> response = transport.stream("/export", headers, null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(lines);
+        server.verify();
+    }
+
+    @Test
+    void streamReturnsErrorStatusTest() throws Exception {
+        server.expect(requestTo("http://server/items/export"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"Not found\"}"));
+
+        ResponseEntity<StreamingResponseBody> response = transport.stream("/export", new HttpHeaders(), null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"error\":\"Not found\"}");
+    }
+
+}
@@ -0,0 +1,67 @@
+package isthatkirill.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import reactor.netty.resources.ConnectionProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTransportConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class,
+                    WebClientAutoConfiguration.class))
+            .withUserConfiguration(ServerTransportConfig.class)
+            .withPropertyValues("shareit-server.url=http://localhost:9090");
+
+    @Test
+    void restTemplateIsDefaultTest() {
+        contextRunner.run(context -> assertThat(context.getBean(ServerTransportFactory.class).create("/items"))
+                .isInstanceOf(RestTemplateTransport.class));
+    }
+
+    @Test
+    void webClientModeTest() {
+        contextRunner.withPropertyValues("shareit-server.client=web-client")
+                .run(context -> {
+                    assertThat(context.getBean(ServerTransportFactory.class).create("/items"))
+                            .isInstanceOf(WebClientTransport.class);
+                    assertThat(context).hasSingleBean(ConnectionProvider.class)
+                            .doesNotHaveBean(PoolingHttpClientConnectionManager.class);
+                });
+    }
+
+    @Test
+    void connectionPoolIsSharedAndConfiguredTest() {
+        contextRunner.withPropertyValues("shareit-server.pool.max-total=50", "shareit-server.pool.max-per-route=40")
+                .run(context -> {
+                    PoolingHttpClientConnectionManager connectionManager = context
+                            .getBean(PoolingHttpClientConnectionManager.class);
+
+                    assertThat(connectionManager.getMaxTotal()).isEqualTo(50);
+                    assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(40);
+                });
+    }
+
+    @Test
+    void connectionPoolMetricsTest() {
+        contextRunner.run(context -> {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean(MeterBinder.class).bindTo(registry);
+
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.max")
+                    .tag("httpclient", ServerTransportConfig.POOL_NAME)
+                    .gauge().value()).isEqualTo(200);
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.pending").gauge().value()).isZero();
+            assertThat(registry.find("httpcomponents.httpclient.pool.total.connections")
+                    .tag("state", "leased").gauge()).isNotNull();
+        });
+    }
+
+}
@@ -0,0 +1,199 @@
+package isthatkirill.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebClientTransportTest {
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    @Test
+    void exchangeExpandsParametersTest() {
+        WebClientTransport transport = transport(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("[{\"id\":1}]")
+                .build(), false);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "?from={from}&size={size}", headers,
+                Map.of("from", 0, "size", 10), null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).asList().hasSize(1);
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).url()).hasToString("http://server/items?from=0&size=10");
+        assertThat(requests.get(0).headers().getFirst("X-Sharer-User-Id")).isEqualTo("1");
+    }
+
+    @Test
+    void exchangeReturnsErrorStatusWithRawBodyTest() {
+        WebClientTransport transport = transport(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":\"Not found\"}")
+                .build(), false);
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/100", new HttpHeaders(),
+                null, null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat((byte[]) response.getBody()).asString().isEqualTo("{\"error\":\"Not found\"}");
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void exchangeRelaysServerHeadersTest() {
+        WebClientTransport transport = transport(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_LENGTH, "10")
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .header(HttpHeaders.ETAG, "\"item-1-v1\"")
+                .header("X-Next-Cursor", "abc")
+                .body("[{\"id\":1}]")
+                .build(), false);
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "?size=1", new HttpHeaders(),
+                null, null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getBody()).asList().hasSize(1);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"item-1-v1\"");
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("abc");
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders())
+                .doesNotContainKeys(HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH);
+    }
+
+    @Test
+    void passthroughKeepsServerBytesAndHeadersTest() {
+        String page = "[{\"id\":1,\"name\":\"Drill\"}]";
+        WebClientTransport transport = transport(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .header("X-Total-Count", "1")
+                .body(page)
+                .build(), true);
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(),
+                null, null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((byte[]) response.getBody()).asString().isEqualTo(page);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getFirst("X-Total-Count")).isEqualTo("1");
+        assertThat(response.getHeaders()).doesNotContainKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    @Test
+    void streamCopiesServerBodyAndHeadersTest() throws Exception {
+        String lines = "{\"id\":1}\n{\"id\":2}\n";
+        WebClientTransport transport = transport(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .body(lines)
+                .build(), false);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+
+        ResponseEntity<StreamingResponseBody> response = transport.stream("/export", headers, null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(response.getHeaders()).doesNotContainKey(HttpHeaders.TRANSFER_ENCODING);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(lines);
+        assertThat(requests.get(0).url()).hasToString("http://server/items/export");
+        assertThat(requests.get(0).headers().getFirst("X-Sharer-User-Id")).isEqualTo("1");
+    }
+
+    @Test
+    void streamWritesOffEventLoopTest() throws Exception {
+        Scheduler eventLoop = Schedulers.newSingle("reactor-http-nio");
+        try {
+            Flux<DataBuffer> body = Flux.just("{\"id\":1}\n", "{\"id\":2}\n")
+                    .<DataBuffer>map(line -> DefaultDataBufferFactory.sharedInstance.wrap(line.getBytes(StandardCharsets.UTF_8)))
+                    .publishOn(eventLoop);
+            WebClientTransport transport = transport(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                    .body(body)
+                    .build(), false);
+            Set<String> writers = ConcurrentHashMap.newKeySet();
+            OutputStream out = new ByteArrayOutputStream() {
+                @Override
+                public synchronized void write(byte[] b, int off, int len) {
+                    writers.add(Thread.currentThread().getName());
+                    super.write(b, off, len);
+                }
+            };
+
+            ResponseEntity<StreamingResponseBody> response = transport.stream("/export", new HttpHeaders(), null)
+                    .block();
+
+            assertThat(response).isNotNull();
+            response.getBody().writeTo(out);
+            assertThat(out).hasToString("{\"id\":1}\n{\"id\":2}\n");
+            assertThat(writers).isNotEmpty().noneMatch(name -> name.startsWith("reactor-http-nio"));
+        } finally {
+            eventLoop.dispose();
+        }
+    }
+
+    @Test
+    void streamReturnsErrorStatusTest() throws Exception {
+        WebClientTransport transport = transport(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":\"Not found\"}")
+                .build(), false);
+
+        ResponseEntity<StreamingResponseBody> response = transport.stream("/export", new HttpHeaders(), null).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"error\":\"Not found\"}");
+    }
+
+    private WebClientTransport transport(ClientResponse response, boolean passthrough) {
+        return new WebClientTransport(WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory("http://server/items"))
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(response);
+                })
+                .build(), passthrough);
+    }
+
+}
@@ -11,6 +11,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import isthatkirill.shareit.item.ItemClient;
 import isthatkirill.shareit.item.ItemController;
 import isthatkirill.shareit.item.comment.dto.CommentDtoRequest;
@@ -21,11 +24,16 @@ import isthatkirill.shareit.item.dto.ItemDtoResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.matchesPattern;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -63,14 +71,18 @@ class ItemControllerTest {
     @SneakyThrows
     void createItemTest() {
         when(itemClient.create(any(), anyLong()))
-                .thenReturn(new ResponseEntity<>(itemDtoReq, HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(itemDtoReq, HttpStatus.OK)));
 
-        mvc.perform(post("/items")
+        MvcResult result = mvc.perform(post("/items")
                         .content(mapper.writeValueAsString(itemDtoReq))
                         .header("X-Sharer-User-Id", 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(itemDtoReq.getId()))
                 .andExpect(jsonPath("$.name").value(itemDtoReq.getName()))
@@ -85,7 +97,7 @@ class ItemControllerTest {
     @SneakyThrows
     void createItemMissingHeaderTest() {
         when(itemClient.create(any(), anyLong()))
-                .thenReturn(new ResponseEntity<>(itemDtoReq, HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(itemDtoReq, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/items")
                         .content(mapper.writeValueAsString(itemDtoReq))
@@ -103,7 +115,7 @@ class ItemControllerTest {
     void createItemWithNullFieldsTest() {
         itemDtoReq.setAvailable(null);
         when(itemClient.create(any(), anyLong()))
-                .thenReturn(new ResponseEntity<>(itemDtoReq, HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(itemDtoReq, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/items")
                         .content(mapper.writeValueAsString(itemDtoReq))
@@ -122,7 +134,7 @@ class ItemControllerTest {
     void createItemWithBlankFieldsTest() {
         itemDtoReq.setName("");
         when(itemClient.create(any(), anyLong()))
-                .thenReturn(new ResponseEntity<>(itemDtoReq, HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(itemDtoReq, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/items")
                         .content(mapper.writeValueAsString(itemDtoReq))
@@ -141,14 +153,18 @@ class ItemControllerTest {
     void updateItemTest() {
         itemDtoReq.setName("newName");
         when(itemClient.update(any(), anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>(itemDtoReq, HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(itemDtoReq, HttpStatus.OK)));
 
-        mvc.perform(patch("/items/1")
+        MvcResult result = mvc.perform(patch("/items/1")
                         .content(mapper.writeValueAsString(itemDtoReq))
                         .header("X-Sharer-User-Id", 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(itemDtoReq.getId()))
                 .andExpect(jsonPath("$.name").value(itemDtoReq.getName()))
@@ -164,14 +180,18 @@ class ItemControllerTest {
     void updateItemWithNullFieldsShouldBeOkTest() {
         ItemDtoRequest nullFields = ItemDtoRequest.builder().description("testDescription").build();
         when(itemClient.update(any(), anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>(nullFields, HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(nullFields, HttpStatus.OK)));
 
-        mvc.perform(patch("/items/1")
+        MvcResult result = mvc.perform(patch("/items/1")
                         .content(mapper.writeValueAsString(nullFields))
                         .header("X-Sharer-User-Id", 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.description").value(nullFields.getDescription()));
 
@@ -183,7 +203,7 @@ class ItemControllerTest {
     void updateItemMissingHeaderTest() {
         itemDtoReq.setDescription("newDescription");
         when(itemClient.update(any(), anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>(itemDtoReq, HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(itemDtoReq, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(patch("/items/1")
                         .content(mapper.writeValueAsString(itemDtoReq))
@@ -200,12 +220,16 @@ class ItemControllerTest {
     @SneakyThrows
     void getByIdTest() {
         when(itemClient.getById(anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>(itemDtoResp, HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(itemDtoResp, HttpStatus.OK)));
 
-        mvc.perform(get("/items/1")
+        MvcResult result = mvc.perform(get("/items/1")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", 1L)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(itemDtoResp.getId()))
                 .andExpect(jsonPath("$.name").value(itemDtoResp.getName()));
@@ -213,11 +237,35 @@ class ItemControllerTest {
         verify(itemClient, times(1)).getById(1L, 1L);
     }
 
+    @Test
+    @SneakyThrows
+    void getByIdWritesServerBytesAsIsTest() {
+        byte[] serverBody = mapper.writeValueAsBytes(itemDtoResp);
+        when(itemClient.getById(anyLong(), anyLong()))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Total-Count", "1")
+                        .body(serverBody)));
+
+        MvcResult result = mvc.perform(get("/items/1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(content().bytes(serverBody));
+    }
+
     @Test
     @SneakyThrows
     void getByIdMissingHeaderTest() {
         when(itemClient.getById(anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>(itemDtoResp, HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(itemDtoResp, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/items/1")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -233,12 +281,16 @@ class ItemControllerTest {
     void getByOwnerTest() {
         int from = 3, size = 2;
         when(itemClient.getByOwner(anyLong(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(itemDtoResp), HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(itemDtoResp), HttpStatus.OK)));
 
-        mvc.perform(get("/items?from={from}&size={size}", from, size)
+        MvcResult result = mvc.perform(get("/items?from={from}&size={size}", from, size)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", 1L)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(itemDtoResp.getId()))
                 .andExpect(jsonPath("$[0].description").value(itemDtoResp.getDescription()))
@@ -252,7 +304,7 @@ class ItemControllerTest {
     void getByOwnerWithInvalidRequestParamsTest() {
         int from = -3, size = 2;
         when(itemClient.getByOwner(anyLong(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(itemDtoResp), HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(itemDtoResp), HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/items?from={from}&size={size}", from, size)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -268,12 +320,16 @@ class ItemControllerTest {
     @SneakyThrows
     void getByOwnerWithDefaultRequestParamsTest() {
         when(itemClient.getByOwner(anyLong(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(itemDtoResp), HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(itemDtoResp), HttpStatus.OK)));
 
-        mvc.perform(get("/items")
+        MvcResult result = mvc.perform(get("/items")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", 1L)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(itemDtoResp.getId()))
                 .andExpect(jsonPath("$[0].description").value(itemDtoResp.getDescription()))
@@ -289,12 +345,16 @@ class ItemControllerTest {
         int from = 3, size = 2;
 
         when(itemClient.search(anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(itemDtoReq), HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(itemDtoReq), HttpStatus.OK)));
 
-        mvc.perform(get("/items/search?text={text}&from={from}&size={size}",
+        MvcResult result = mvc.perform(get("/items/search?text={text}&from={from}&size={size}",
                         text, from, size)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(itemDtoReq.getId()))
                 .andExpect(jsonPath("$[0].description").value(itemDtoReq.getDescription()))
@@ -307,7 +367,7 @@ class ItemControllerTest {
     @SneakyThrows
     void searchWithMissingTextParamTest() {
         when(itemClient.search(anyString(), anyInt(), anyInt()))
-                .thenReturn(new ResponseEntity<>(List.of(itemDtoReq), HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(itemDtoReq), HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/items/search")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -335,14 +395,18 @@ class ItemControllerTest {
         String pattern = "\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d+";
 
         when(itemClient.createComment(anyLong(), anyLong(),
-                any(CommentDtoRequest.class))).thenReturn(new ResponseEntity<>(dtoResponse, HttpStatus.OK));
+                any(CommentDtoRequest.class))).thenReturn(Mono.just(new ResponseEntity<>(dtoResponse, HttpStatus.OK)));
 
-        mvc.perform(post("/items/1/comment")
+        MvcResult result = mvc.perform(post("/items/1/comment")
                         .content(mapper.writeValueAsString(dtoRequest))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(dtoResponse.getId()))
                 .andExpect(jsonPath("$.authorName").value(dtoResponse.getAuthorName()))
@@ -367,7 +431,7 @@ class ItemControllerTest {
                 .build();
 
         when(itemClient.createComment(anyLong(), anyLong(),
-                any(CommentDtoRequest.class))).thenReturn(new ResponseEntity<>(dtoResponse, HttpStatus.BAD_REQUEST));
+                any(CommentDtoRequest.class))).thenReturn(Mono.just(new ResponseEntity<>(dtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/items/1/comment")
                         .content(mapper.writeValueAsString(dtoRequest))
@@ -396,7 +460,7 @@ class ItemControllerTest {
                 .build();
 
         when(itemClient.createComment(anyLong(), anyLong(),
-                any(CommentDtoRequest.class))).thenReturn(new ResponseEntity<>(dtoResponse, HttpStatus.BAD_REQUEST));
+                any(CommentDtoRequest.class))).thenReturn(Mono.just(new ResponseEntity<>(dtoResponse, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/items/1/comment")
                         .content(mapper.writeValueAsString(dtoRequest))
@@ -409,4 +473,134 @@ class ItemControllerTest {
         verify(itemClient, never()).createComment(anyLong(), anyLong(), any());
     }
 
-}
\ No newline at end of file
+    @Test
+    @SneakyThrows
+    void getAvailabilityTest() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 8, 10, 0);
+        when(itemClient.getAvailability(anyLong(), anyLong(), any(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(itemDtoResp, HttpStatus.OK)));
+
+        MvcResult result = mvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-08T10:00:00")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(1)).getAvailability(1L, 1L, from, to);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAvailabilityInvalidRangeTest() {
+        mvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-08T10:00:00")
+                        .param("to", "2030-01-01T10:00:00")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.description").value("Parameter 'from' must be before 'to'"));
+
+        verify(itemClient, never()).getAvailability(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void createAllTest() {
+        when(itemClient.createAll(any(), anyLong()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(itemDtoReq), HttpStatus.OK)));
+
+        MvcResult result = mvc.perform(post("/items/batch")
+                        .content(mapper.writeValueAsString(List.of(itemDtoReq)))
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value(itemDtoReq.getName()));
+
+        verify(itemClient, times(1)).createAll(any(), eq(1L));
+    }
+
+    @Test
+    @SneakyThrows
+    void createAllWithInvalidItemTest() {
+        itemDtoReq.setName(" ");
+
+        mvc.perform(post("/items/batch")
+                        .content(mapper.writeValueAsString(List.of(itemDtoReq)))
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"));
+
+        verify(itemClient, never()).createAll(any(), anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void exportByOwnerTest() {
+        String lines = "{\"id\":1}\n{\"id\":2}\n";
+        StreamingResponseBody body = out -> out.write(lines.getBytes(StandardCharsets.UTF_8));
+        when(itemClient.exportByOwner(anyLong()))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body)));
+
+        MvcResult result = mvc.perform(get("/items/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult streaming = mvc.perform(asyncDispatch(result))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streaming.getAsyncResult();
+
+        assertThat(streaming.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(streaming.getResponse().getContentAsString()).isEqualTo(lines);
+        verify(itemClient, times(1)).exportByOwner(1L);
+    }
+
+    @Test
+    @SneakyThrows
+    void getCommentsTest() {
+        String cursor = "2030-01-01T10:00,5";
+        when(itemClient.getComments(anyLong(), any(), anyInt()))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .header("X-Next-Cursor", cursor)
+                        .body((Object) List.of(Map.of("id", 7, "text", "comment")))));
+
+        MvcResult result = mvc.perform(get("/items/1/comments?cursor={cursor}&size=1", cursor)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", cursor))
+                .andExpect(jsonPath("$[0].text").value("comment"));
+
+        verify(itemClient, times(1)).getComments(1L, cursor, 1);
+    }
+
+    @Test
+    @SneakyThrows
+    void getCommentsWithTooLargePageTest() {
+        mvc.perform(get("/items/1/comments?size=101")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"));
+
+        verify(itemClient, never()).getComments(anyLong(), any(), anyInt());
+    }
+
+}
@@ -10,6 +10,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 import isthatkirill.shareit.request.ItemRequestController;
 import isthatkirill.shareit.request.RequestClient;
 import isthatkirill.shareit.request.dto.ItemRequestDto;
@@ -20,9 +22,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
@@ -51,14 +55,18 @@ class ItemRequestControllerTest {
         Long userId = 1L;
 
         when(requestClient.create(any(), anyLong()))
-                .thenReturn(new ResponseEntity<>(dtoLong, HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(dtoLong, HttpStatus.OK)));
 
-        mvc.perform(post("/requests")
+        MvcResult result = mvc.perform(post("/requests")
                         .content(mapper.writeValueAsString(dto))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .header("X-Sharer-User-Id", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(dtoLong.getId()))
                 .andExpect(jsonPath("$.created").hasJsonPath())
@@ -74,7 +82,7 @@ class ItemRequestControllerTest {
         dto.setDescription("");
 
         when(requestClient.create(any(), anyLong()))
-                .thenReturn(new ResponseEntity<>(dtoLong, HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(dtoLong, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/requests")
                         .content(mapper.writeValueAsString(dto))
@@ -93,7 +101,7 @@ class ItemRequestControllerTest {
     @SneakyThrows
     void createWithoutHeaderTest() {
         when(requestClient.create(any(), anyLong()))
-                .thenReturn(new ResponseEntity<>(dtoLong, HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(dtoLong, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/requests")
                         .content(mapper.writeValueAsString(dto))
@@ -113,12 +121,16 @@ class ItemRequestControllerTest {
         Long userId = 1L;
 
         when(requestClient.getAll(anyInt(), anyInt(), anyLong()))
-                .thenReturn(new ResponseEntity<>(List.of(dtoLong), HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(dtoLong), HttpStatus.OK)));
 
-        mvc.perform(get("/requests/all?from={from}&size={size}", from, size)
+        MvcResult result = mvc.perform(get("/requests/all?from={from}&size={size}", from, size)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", userId)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(dtoLong.getId()))
                 .andExpect(jsonPath("$[0].created").hasJsonPath())
@@ -134,7 +146,7 @@ class ItemRequestControllerTest {
         Long userId = 1L;
 
         when(requestClient.getAll(anyInt(), anyInt(), anyLong()))
-                .thenReturn(new ResponseEntity<>(List.of(dtoLong), HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(dtoLong), HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/requests/all?from={from}&size={size}", from, size)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -152,7 +164,7 @@ class ItemRequestControllerTest {
         int from = 0, size = 10;
 
         when(requestClient.getAll(anyInt(), anyInt(), anyLong()))
-                .thenReturn(new ResponseEntity<>(List.of(dtoLong), HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(dtoLong), HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/requests/all?from={from}&size={size}", from, size)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -168,26 +180,68 @@ class ItemRequestControllerTest {
     void getOwnTest() {
         Long userId = 1L;
 
-        when(requestClient.getOwn(anyLong()))
-                .thenReturn(new ResponseEntity<>(List.of(dtoLong), HttpStatus.OK));
+        when(requestClient.getOwn(anyInt(), anyInt(), anyLong()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(dtoLong), HttpStatus.OK)));
 
-        mvc.perform(get("/requests")
+        MvcResult result = mvc.perform(get("/requests")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON)
                         .header("X-Sharer-User-Id", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(dtoLong.getId()))
                 .andExpect(jsonPath("$[0].created").hasJsonPath())
                 .andExpect(jsonPath("$[0].description").value(dtoLong.getDescription()));
 
-        verify(requestClient, times(1)).getOwn(userId);
+        verify(requestClient, times(1)).getOwn(0, 10, userId);
+    }
+
+    @Test
+    @SneakyThrows
+    void getOwnWithPaginationTest() {
+        int from = 20, size = 5;
+        Long userId = 1L;
+
+        when(requestClient.getOwn(anyInt(), anyInt(), anyLong()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(dtoLong), HttpStatus.OK)));
+
+        MvcResult result = mvc.perform(get("/requests?from={from}&size={size}", from, size)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        verify(requestClient, times(1)).getOwn(from, size, userId);
+    }
+
+    @Test
+    @SneakyThrows
+    void getOwnWithBadRequestParamsTest() {
+        int from = -1, size = 0;
+        Long userId = 1L;
+
+        mvc.perform(get("/requests?from={from}&size={size}", from, size)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"));
+
+        verify(requestClient, never()).getOwn(anyInt(), anyInt(), anyLong());
     }
 
     @Test
     @SneakyThrows
     void getOwnWithMissingHeaderTest() {
-        when(requestClient.getOwn(anyLong()))
-                .thenReturn(new ResponseEntity<>(List.of(dtoLong), HttpStatus.BAD_REQUEST));
+        when(requestClient.getOwn(anyInt(), anyInt(), anyLong()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(dtoLong), HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/requests")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -195,7 +249,7 @@ class ItemRequestControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Missing request header"));
 
-        verify(requestClient, never()).getOwn(anyLong());
+        verify(requestClient, never()).getOwn(anyInt(), anyInt(), anyLong());
     }
 
     @Test
@@ -205,12 +259,16 @@ class ItemRequestControllerTest {
         Long requestId = 2L;
 
         when(requestClient.getById(anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>(dtoLong, HttpStatus.OK));
+                .thenReturn(Mono.just(new ResponseEntity<>(dtoLong, HttpStatus.OK)));
 
-        mvc.perform(get("/requests/{requestId}", requestId)
+        MvcResult result = mvc.perform(get("/requests/{requestId}", requestId)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", userId)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(dtoLong.getId()))
                 .andExpect(jsonPath("$.created").hasJsonPath())
@@ -225,7 +283,7 @@ class ItemRequestControllerTest {
         Long requestId = 2L;
 
         when(requestClient.getById(anyLong(), anyLong()))
-                .thenReturn(new ResponseEntity<>(dtoLong, HttpStatus.BAD_REQUEST));
+                .thenReturn(Mono.just(new ResponseEntity<>(dtoLong, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(get("/requests/{requestId}", requestId)
                         .characterEncoding(StandardCharsets.UTF_8)
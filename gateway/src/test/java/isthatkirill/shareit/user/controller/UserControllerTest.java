@@ -11,6 +11,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 import isthatkirill.shareit.user.UserClient;
 import isthatkirill.shareit.user.UserController;
 import isthatkirill.shareit.user.dto.UserDto;
@@ -49,13 +51,17 @@ class UserControllerTest {
     @Test
     @SneakyThrows
     void createNewUserTest() {
-        when(userClient.create(any())).thenReturn(new ResponseEntity<>(userDto, HttpStatus.OK));
+        when(userClient.create(any())).thenReturn(Mono.just(new ResponseEntity<>(userDto, HttpStatus.OK)));
 
-        mvc.perform(post("/users")
+        MvcResult result = mvc.perform(post("/users")
                         .content(mapper.writeValueAsString(userDto))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(userDto.getId()))
                 .andExpect(jsonPath("$.name").value(userDto.getName()))
@@ -68,7 +74,7 @@ class UserControllerTest {
     @SneakyThrows
     void createNewUserWithInvalidEmailTest() {
         userDto.setEmail("testInvalidEmail");
-        when(userClient.create(any())).thenReturn(new ResponseEntity<>(userDto, HttpStatus.BAD_REQUEST));
+        when(userClient.create(any())).thenReturn(Mono.just(new ResponseEntity<>(userDto, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/users")
                         .content(mapper.writeValueAsString(userDto))
@@ -86,7 +92,7 @@ class UserControllerTest {
     @SneakyThrows
     void createNewUserWithNullNameTest() {
         userDto.setName(null);
-        when(userClient.create(any())).thenReturn(new ResponseEntity<>(userDto, HttpStatus.BAD_REQUEST));
+        when(userClient.create(any())).thenReturn(Mono.just(new ResponseEntity<>(userDto, HttpStatus.BAD_REQUEST)));
 
         mvc.perform(post("/users")
                         .content(mapper.writeValueAsString(userDto))
@@ -104,13 +110,17 @@ class UserControllerTest {
     @SneakyThrows
     void updateUserTest() {
         userDto.setName("newTestName");
-        when(userClient.update(any(), anyLong())).thenReturn(new ResponseEntity<>(userDto, HttpStatus.OK));
+        when(userClient.update(any(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(userDto, HttpStatus.OK)));
 
-        mvc.perform(patch("/users/1")
+        MvcResult result = mvc.perform(patch("/users/1")
                         .content(mapper.writeValueAsString(userDto))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(userDto.getId()))
                 .andExpect(jsonPath("$.name").value(userDto.getName()))
@@ -122,9 +132,15 @@ class UserControllerTest {
     @Test
     @SneakyThrows
     void deleteUserTest() {
-        mvc.perform(delete("/users/1")
+        when(userClient.delete(anyLong())).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        MvcResult result = mvc.perform(delete("/users/1")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().string(""));
 
@@ -134,11 +150,15 @@ class UserControllerTest {
     @Test
     @SneakyThrows
     void getUserByIdTest() {
-        when(userClient.getById(anyLong())).thenReturn(new ResponseEntity<>(userDto, HttpStatus.OK));
+        when(userClient.getById(anyLong())).thenReturn(Mono.just(new ResponseEntity<>(userDto, HttpStatus.OK)));
 
-        mvc.perform(get("/users/1")
+        MvcResult result = mvc.perform(get("/users/1")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(userDto.getId()))
                 .andExpect(jsonPath("$.name").value(userDto.getName()))
@@ -155,12 +175,16 @@ class UserControllerTest {
                 .name("testName2")
                 .email("testemail2@yahoo.com")
                 .build();
-        when(userClient.getAll())
-                .thenReturn(new ResponseEntity<>(List.of(userDto, userDtoSecond), HttpStatus.OK));
+        when(userClient.getAll(anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(new ResponseEntity<>(List.of(userDto, userDtoSecond), HttpStatus.OK)));
 
-        mvc.perform(get("/users")
+        MvcResult result = mvc.perform(get("/users")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(jsonPath("$[0].id").value(userDto.getId()))
                 .andExpect(jsonPath("$[0].name").value(userDto.getName()))
                 .andExpect(jsonPath("$[0].email").value(userDto.getEmail()))
@@ -168,7 +192,39 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[1].name").value(userDtoSecond.getName()))
                 .andExpect(jsonPath("$[1].email").value(userDtoSecond.getEmail()));
 
-        verify(userClient, times(1)).getAll();
+        verify(userClient, times(1)).getAll(0, 10, null);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllUsersAfterCursorTest() {
+        when(userClient.getAll(anyInt(), anyInt(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().header("X-Next-Cursor", "1").body(List.of(userDto))));
+
+        MvcResult result = mvc.perform(get("/users")
+                        .param("size", "1")
+                        .param("after", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1"))
+                .andExpect(jsonPath("$[0].id").value(userDto.getId()));
+
+        verify(userClient, times(1)).getAll(0, 1, 5L);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllUsersWithTooLargePageTest() {
+        mvc.perform(get("/users")
+                        .param("size", "1001")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(userClient, never()).getAll(anyInt(), anyInt(), any());
     }
 
 }
\ No newline at end of file
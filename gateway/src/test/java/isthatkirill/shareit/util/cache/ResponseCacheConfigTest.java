@@ -0,0 +1,41 @@
+package isthatkirill.shareit.util.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.util.AntPathMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(new ConfigDataApplicationContextInitializer())
+            .withUserConfiguration(ResponseCacheConfig.class);
+
+    @Test
+    void defaultRoutesTest() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(ResponseCacheFilter.class);
+            AntPathMatcher matcher = new AntPathMatcher();
+
+            assertThat(context.getBean(ResponseCacheProperties.class).getRoutes())
+                    .extracting(ResponseCacheProperties.Route::getPattern)
+                    .filteredOn(pattern -> matcher.match(pattern, "/items/1")
+                            || matcher.match(pattern, "/items/search")
+                            || matcher.match(pattern, "/users/1")
+                            || matcher.match(pattern, "/requests/all"))
+                    .hasSize(4)
+                    .noneMatch(pattern -> matcher.match(pattern, "/items")
+                            || matcher.match(pattern, "/requests/1")
+                            || matcher.match(pattern, "/bookings/1"));
+        });
+    }
+
+    @Test
+    void disabledTest() {
+        contextRunner.withPropertyValues("shareit-gateway.cache.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(ResponseCacheFilter.class));
+    }
+
+}
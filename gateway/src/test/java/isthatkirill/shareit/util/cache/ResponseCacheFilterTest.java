@@ -0,0 +1,276 @@
+package isthatkirill.shareit.util.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class ResponseCacheFilterTest {
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T10:00:00Z"));
+    private Cache<ResponseCacheFilter.Key, CachedResponse> cache;
+    private StubController controller;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties.Route route = new ResponseCacheProperties.Route();
+        route.setPattern("/items/{itemId:\\d+}");
+        route.setTtl(Duration.ofMinutes(1));
+        route.setInvalidatedBy(List.of("/items", "/bookings"));
+        route.setExpiresAt(List.of("/nextBooking/start"));
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+
+        cache = Caffeine.newBuilder()
+                .expireAfter(ResponseCacheConfig.expiry())
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(now.get().toEpochMilli()))
+                .build();
+        controller = new StubController(cache);
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .addFilters(new ResponseCacheFilter(cache, List.of(route), clock))
+                .build();
+    }
+
+    @Test
+    @SneakyThrows
+    void repeatedGetIsServedFromCacheTest() {
+        MvcResult first = exchange(get("/items/1").header("X-Sharer-User-Id", 1));
+        MvcResult second = exchange(get("/items/1").header("X-Sharer-User-Id", 1));
+
+        assertThat(controller.calls).hasValue(1);
+        assertThat(second.getResponse().getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(second.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        assertThat(second.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(second.getResponse().getHeader(HttpHeaders.ETAG))
+                .isNotBlank()
+                .isEqualTo(first.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void cacheIsKeyedByUserAndQueryTest() {
+        exchange(get("/items/1").header("X-Sharer-User-Id", 1));
+        exchange(get("/items/1").header("X-Sharer-User-Id", 2));
+        exchange(get("/items/1?from=0").header("X-Sharer-User-Id", 2));
+        exchange(get("/items/1?from=0").header("X-Sharer-User-Id", 2));
+
+        assertThat(controller.calls).hasValue(3);
+    }
+
+    @Test
+    void entryExpiresWithRouteTtlTest() {
+        exchange(get("/items/1"));
+
+        now.updateAndGet(instant -> instant.plusSeconds(61));
+        exchange(get("/items/1"));
+
+        assertThat(controller.calls).hasValue(2);
+    }
+
+    @Test
+    @SneakyThrows
+    void ownerViewGoesStaleWhenNextBookingStartsTest() {
+        exchange(get("/items/7"));
+        now.updateAndGet(instant -> instant.plusSeconds(4));
+        exchange(get("/items/7"));
+
+        now.updateAndGet(instant -> instant.plusSeconds(1));
+        MvcResult result = exchange(get("/items/7"));
+
+        assertThat(controller.calls).hasValue(2);
+        assertThat(result.getResponse().getContentAsString()).contains("\"call\":2");
+    }
+
+    @Test
+    void responseWithPastNextBookingIsNotCachedTest() {
+        now.updateAndGet(instant -> instant.plusSeconds(5));
+        exchange(get("/items/7"));
+        exchange(get("/items/7"));
+
+        assertThat(controller.calls).hasValue(2);
+    }
+
+    @Test
+    void ifNoneMatchReturnsNotModifiedTest() {
+        String etag = exchange(get("/items/1")).getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult result = exchange(get("/items/1").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(controller.calls).hasValue(1);
+    }
+
+    @Test
+    void serverEtagIsKeptTest() {
+        MvcResult first = exchange(get("/items/5"));
+        MvcResult second = exchange(get("/items/5").header(HttpHeaders.IF_NONE_MATCH, StubController.SERVER_ETAG));
+
+        assertThat(first.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(StubController.SERVER_ETAG);
+        assertThat(second.getResponse().getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(controller.calls).hasValue(1);
+    }
+
+    @Test
+    void successfulWriteInvalidatesRouteTest() {
+        String etag = exchange(get("/items/1")).getResponse().getHeader(HttpHeaders.ETAG);
+        exchange(get("/items/2"));
+
+        exchange(patch("/items/1"));
+        MvcResult result = exchange(get("/items/1").header(HttpHeaders.IF_NONE_MATCH, etag));
+        exchange(get("/items/2"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(controller.calls).hasValue(4);
+    }
+
+    @Test
+    void writeDropsCacheBeforeItIsForwardedTest() {
+        exchange(get("/items/1"));
+
+        exchange(patch("/items/1"));
+
+        assertThat(controller.cachedDuringWrite).hasValue(0);
+    }
+
+    @Test
+    void failedWriteDropsCacheTest() {
+        exchange(get("/items/1"));
+
+        exchange(post("/bookings"));
+        exchange(get("/items/1"));
+
+        assertThat(controller.calls).hasValue(2);
+    }
+
+    @Test
+    void nonStandardWriteStatusIsAcceptedTest() {
+        exchange(get("/items/1"));
+
+        MvcResult result = exchange(patch("/items/299"));
+        exchange(get("/items/1"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(299);
+        assertThat(controller.calls).hasValue(2);
+    }
+
+    @Test
+    void errorResponsesAreNotCachedTest() {
+        exchange(get("/items/404"));
+        MvcResult result = exchange(get("/items/404"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(controller.calls).hasValue(2);
+    }
+
+    @Test
+    void unlistedRouteIsNotCachedTest() {
+        exchange(get("/items/search"));
+        exchange(get("/items/search"));
+
+        assertThat(controller.calls).hasValue(2);
+    }
+
+    @SneakyThrows
+    private MvcResult exchange(MockHttpServletRequestBuilder request) {
+        MvcResult result = mvc.perform(request).andReturn();
+        return result.getRequest().isAsyncStarted() ? mvc.perform(asyncDispatch(result)).andReturn() : result;
+    }
+
+    @RestController
+    @RequiredArgsConstructor
+    static class StubController {
+
+        static final String SERVER_ETAG = "\"item-5-v1\"";
+        static final String NEXT_START = "2026-01-01T10:00:05";
+
+        private final Cache<ResponseCacheFilter.Key, CachedResponse> cache;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicLong cachedDuringWrite = new AtomicLong(-1);
+
+        @GetMapping("/items/{itemId:\\d+}")
+        public Mono<ResponseEntity<Object>> getById(@PathVariable long itemId) {
+            int call = calls.incrementAndGet();
+            if (itemId == 404) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+            if (itemId == 5) {
+                response.eTag(SERVER_ETAG);
+            }
+            String nextBooking = itemId == 7 ? ",\"nextBooking\":{\"id\":1,\"start\":\"" + NEXT_START + "\"}" : "";
+            return Mono.just(response.body(("{\"id\":" + itemId + ",\"call\":" + call + nextBooking + "}")
+                    .getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @GetMapping("/items/search")
+        public ResponseEntity<Object> search() {
+            calls.incrementAndGet();
+            return ResponseEntity.ok("[]");
+        }
+
+        @PatchMapping("/items/{itemId}")
+        public Mono<ResponseEntity<Object>> update(@PathVariable long itemId) {
+            cachedDuringWrite.set(cache.estimatedSize());
+            if (itemId == 299) {
+                return Mono.just(ResponseEntity.status(299).build());
+            }
+            return Mono.just(ResponseEntity.ok().build());
+        }
+
+        @PostMapping("/bookings")
+        public ResponseEntity<Object> createBooking() {
+            return ResponseEntity.badRequest().build();
+        }
+
+    }
+
+}
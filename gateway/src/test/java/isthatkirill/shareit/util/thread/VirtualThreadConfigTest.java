@@ -0,0 +1,47 @@
+package isthatkirill.shareit.util.thread;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    void disabledByDefaultTest() {
+        contextRunner.run(context -> assertThat(context)
+                .doesNotHaveBean(TomcatProtocolHandlerCustomizer.class)
+                .doesNotHaveBean(Scheduler.class));
+    }
+
+    @Test
+    void failsFastBeforeJava21Test() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        contextRunner.withPropertyValues("shareit.threads.virtual=true")
+                .run(context -> assertThat(context).getFailure()
+                        .hasRootCauseInstanceOf(NoSuchMethodException.class)
+                        .hasMessageContaining("requires Java 21 or newer"));
+    }
+
+    @Test
+    void serverCallsRunOnVirtualThreadsTest() {
+        assumeTrue(Runtime.version().feature() >= 21);
+
+        contextRunner.withPropertyValues("shareit.threads.virtual=true")
+                .run(context -> {
+                    Thread thread = Mono.fromCallable(Thread::currentThread)
+                            .subscribeOn(context.getBean(Scheduler.class))
+                            .block();
+                    assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+                });
+    }
+
+}
@@ -1,10 +1,18 @@
 package isthatkirill.shareit.booking.controller;
 
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoRequest;
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoResponse;
+import isthatkirill.shareit.booking.dto.BookingCursor;
 import isthatkirill.shareit.booking.dto.BookingDtoRequest;
 import isthatkirill.shareit.booking.dto.BookingDtoResponse;
 import isthatkirill.shareit.booking.service.BookingService;
+import isthatkirill.shareit.user.service.UserService;
+import isthatkirill.shareit.util.etag.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -14,7 +22,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final UserService userService;
 
     @PostMapping
     public BookingDtoResponse create(@RequestBody BookingDtoRequest bookingDtoRequest,
@@ -22,6 +33,12 @@ public class BookingController {
         return bookingService.create(bookingDtoRequest, userId);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingApprovalDtoResponse> approveAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @RequestBody List<BookingApprovalDtoRequest> approvals) {
+        return bookingService.approveAll(userId, approvals);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDtoResponse approve(@RequestHeader("X-Sharer-User-Id") Long userId,
                                       @PathVariable Long bookingId,
@@ -29,26 +46,46 @@ public class BookingController {
         return bookingService.approve(userId, bookingId, isApproved);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportByBookerId(@RequestHeader("X-Sharer-User-Id") Long bookerId) {
+        // checked before the body starts so that an unknown user still gets a plain 404
+        userService.checkUserExistent(bookerId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> bookingService.exportByBookerId(bookerId, out));
+    }
+
     @GetMapping("/{bookingId}")
-    public BookingDtoResponse getById(@PathVariable Long bookingId,
-                                      @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return bookingService.getById(bookingId, userId);
+    public ResponseEntity<BookingDtoResponse> getById(@PathVariable Long bookingId,
+                                                      @RequestHeader("X-Sharer-User-Id") Long userId) {
+        BookingDtoResponse booking = bookingService.getById(bookingId, userId);
+        return ResponseEntity.ok().eTag(ETags.of(booking)).body(booking);
     }
 
     @GetMapping
-    public List<BookingDtoResponse> getByBookerId(@RequestHeader("X-Sharer-User-Id") Long bookerId,
-                                                  @RequestParam String state,
-                                                  @RequestParam Integer from,
-                                                  @RequestParam Integer size) {
-        return bookingService.getByBookerId(bookerId, state, from, size);
+    public ResponseEntity<List<BookingDtoResponse>> getByBookerId(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                                                  @RequestParam String state,
+                                                                  @RequestParam Integer from,
+                                                                  @RequestParam Integer size,
+                                                                  @RequestParam(required = false) String after) {
+        return withNextCursor(bookingService.getByBookerId(bookerId, state, from, size, after), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoResponse> getByOwnerId(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                                 @RequestParam String state,
-                                                 @RequestParam Integer from,
-                                                 @RequestParam Integer size) {
-        return bookingService.getByOwnerId(ownerId, state, from, size);
+    public ResponseEntity<List<BookingDtoResponse>> getByOwnerId(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                                 @RequestParam String state,
+                                                                 @RequestParam Integer from,
+                                                                 @RequestParam Integer size,
+                                                                 @RequestParam(required = false) String after) {
+        return withNextCursor(bookingService.getByOwnerId(ownerId, state, from, size, after), size);
+    }
+
+    private ResponseEntity<List<BookingDtoResponse>> withNextCursor(List<BookingDtoResponse> bookings, Integer size) {
+        BookingCursor next = BookingCursor.next(bookings, size);
+        if (next == null) return ResponseEntity.ok(bookings);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, next.toString())
+                .body(bookings);
     }
 
 }
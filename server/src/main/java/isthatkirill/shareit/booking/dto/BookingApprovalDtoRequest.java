@@ -0,0 +1,17 @@
+package isthatkirill.shareit.booking.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingApprovalDtoRequest {
+
+    Long bookingId;
+    Boolean approved;
+
+}
@@ -0,0 +1,23 @@
+package isthatkirill.shareit.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import isthatkirill.shareit.booking.model.Status;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Outcome for one booking of a bulk approval: the new status if it was changed, otherwise the reason it was not.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingApprovalDtoResponse {
+
+    Long bookingId;
+    Status status;
+    String error;
+
+}
@@ -0,0 +1,52 @@
+package isthatkirill.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Position in a booking list ordered by {@code start DESC, id DESC}, passed by clients as {@code after=<start>,<id>}.
+ * The next page holds the bookings strictly after this position.
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingCursor {
+
+    LocalDateTime start;
+    Long id;
+
+    public static BookingCursor parse(String token) {
+        String[] parts = token.split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Cursor must look like <start>,<id>: " + token);
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(parts[0].trim()), Long.parseLong(parts[1].trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor must look like <start>,<id>: " + token);
+        }
+    }
+
+    /**
+     * @return cursor after the last booking of a full page, or {@code null} if there is nothing more to read
+     */
+    public static BookingCursor next(List<BookingDtoResponse> page, int size) {
+        if (page.isEmpty() || page.size() < size) return null;
+        BookingDtoResponse last = page.get(page.size() - 1);
+        return new BookingCursor(last.getStart(), last.getId());
+    }
+
+    @Override
+    public String toString() {
+        return start + "," + id;
+    }
+
+}
@@ -18,6 +18,7 @@ import java.time.LocalDateTime;
 public class BookingDtoResponse {
 
     Long id;
+    Long version;
     LocalDateTime start;
     LocalDateTime end;
     Status status;
@@ -15,6 +15,7 @@ public interface BookingMapper {
 
     @Mapping(target = "booker", source = "user")
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Booking toBooking(BookingDtoRequest bookingDtoRequest, User user, Item item);
 
     BookingDtoResponse toBookingDtoResponse(Booking booking);
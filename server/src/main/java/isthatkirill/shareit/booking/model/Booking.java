@@ -12,15 +12,28 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @Table(name = "booking")
+@NamedEntityGraph(name = Booking.WITH_ITEM_OWNER_BOOKER,
+        attributeNodes = {
+                @NamedAttributeNode(value = "item", subgraph = "item.owner"),
+                @NamedAttributeNode("booker")
+        },
+        subgraphs = @NamedSubgraph(name = "item.owner", attributeNodes = @NamedAttributeNode("owner")))
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Booking {
 
+    public static final String WITH_ITEM_OWNER_BOOKER = "Booking.withItemOwnerBooker";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    long version;
+
     @Column(name = "start_date", nullable = false)
     LocalDateTime start;
 
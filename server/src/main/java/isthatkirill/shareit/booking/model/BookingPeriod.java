@@ -0,0 +1,11 @@
+package isthatkirill.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+public interface BookingPeriod {
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+}
@@ -0,0 +1,5 @@
+package isthatkirill.shareit.booking.model;
+
+public enum BookingRole {
+    BOOKER, OWNER
+}
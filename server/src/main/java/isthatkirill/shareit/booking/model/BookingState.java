@@ -0,0 +1,62 @@
+package isthatkirill.shareit.booking.model;
+
+import isthatkirill.shareit.util.exception.UnsupportedStatusException;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+
+public enum BookingState {
+
+    ALL {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, CriteriaBuilder cb, LocalDateTime now) {
+            return cb.conjunction();
+        }
+    },
+    CURRENT {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, CriteriaBuilder cb, LocalDateTime now) {
+            return cb.and(cb.lessThan(booking.get("start"), now), cb.greaterThan(booking.get("end"), now));
+        }
+    },
+    PAST {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, CriteriaBuilder cb, LocalDateTime now) {
+            return cb.lessThan(booking.get("end"), now);
+        }
+    },
+    FUTURE {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, CriteriaBuilder cb, LocalDateTime now) {
+            return cb.greaterThan(booking.get("start"), now);
+        }
+    },
+    WAITING {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, CriteriaBuilder cb, LocalDateTime now) {
+            return cb.equal(booking.get("status"), Status.WAITING);
+        }
+    },
+    REJECTED {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, CriteriaBuilder cb, LocalDateTime now) {
+            return cb.equal(booking.get("status"), Status.REJECTED);
+        }
+    };
+
+    /**
+     * @param now the same instant for every predicate of a request, so that CURRENT/PAST/FUTURE never overlap
+     */
+    public abstract Predicate toPredicate(Path<Booking> booking, CriteriaBuilder cb, LocalDateTime now);
+
+    public static BookingState from(String state) {
+        try {
+            return BookingState.valueOf(state);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedStatusException("Unknown state: " + state);
+        }
+    }
+
+}
@@ -0,0 +1,9 @@
+package isthatkirill.shareit.booking.model;
+
+public interface ItemBookingShort extends BookingShort {
+
+    Long getItemId();
+
+    Boolean getIsNext();
+
+}
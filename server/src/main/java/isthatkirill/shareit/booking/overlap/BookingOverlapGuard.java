@@ -0,0 +1,25 @@
+package isthatkirill.shareit.booking.overlap;
+
+import isthatkirill.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps approved bookings of one item from overlapping. Periods are half-open, so a booking may start
+ * at the moment the previous one ends.
+ */
+public interface BookingOverlapGuard {
+
+    /**
+     * Fails with {@link isthatkirill.shareit.util.exception.BookingOverlapException} if the period
+     * overlaps an approved booking of the item.
+     */
+    void checkFree(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Checks and claims the period of a booking that is being approved in the current transaction.
+     * Concurrent approvals of overlapping bookings must not both succeed.
+     */
+    void reserve(Booking booking);
+
+}
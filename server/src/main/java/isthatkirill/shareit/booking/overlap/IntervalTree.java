@@ -0,0 +1,147 @@
+package isthatkirill.shareit.booking.overlap;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Treap of half-open {@code [start, end)} periods ordered by start and booking id, where every node also
+ * keeps the latest end in its subtree. An overlap lookup skips any subtree that ends before the query starts
+ * and any right subtree that starts after the query ends, so it stays logarithmic in the number of periods.
+ * Not thread-safe.
+ */
+class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    void add(LocalDateTime start, LocalDateTime end, long id) {
+        root = insert(root, new Node(start, end, id));
+        size++;
+    }
+
+    boolean remove(LocalDateTime start, long id) {
+        int before = size;
+        root = delete(root, start, id);
+        return size < before;
+    }
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start.isBefore(end) && start.isBefore(node.end)) {
+                return true;
+            }
+            if (node.left != null && start.isBefore(node.left.maxEnd)) {
+                node = node.left;
+            } else if (node.start.isBefore(end)) {
+                node = node.right;
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return node.update();
+    }
+
+    private Node delete(Node node, LocalDateTime start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        return node.update();
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node.update();
+        return left.update();
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node.update();
+        return right.update();
+    }
+
+    private static int compare(LocalDateTime start, long id, Node node) {
+        int cmp = start.compareTo(node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static final class Node {
+
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final long id;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(LocalDateTime start, LocalDateTime end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+
+        private Node update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package isthatkirill.shareit.booking.overlap;
+
+import isthatkirill.shareit.booking.model.Booking;
+import isthatkirill.shareit.booking.model.Status;
+import isthatkirill.shareit.booking.repository.BookingRepository;
+import isthatkirill.shareit.util.exception.BookingOverlapException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process interval index for databases without exclusion constraints (H2). Each item's approved bookings
+ * are loaded into an {@link IntervalTree} on first use; approvals are claimed in the tree right away and
+ * released again if their transaction does not commit. Assumes this process is the only writer.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.overlap-guard", havingValue = "interval-tree")
+public class IntervalTreeBookingOverlapGuard implements BookingOverlapGuard {
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, IntervalTree> trees = new ConcurrentHashMap<>();
+
+    @Override
+    public void checkFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        IntervalTree tree = tree(itemId);
+        synchronized (tree) {
+            if (tree.overlaps(start, end)) {
+                throw new BookingOverlapException(itemId, start, end);
+            }
+        }
+    }
+
+    @Override
+    public void reserve(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        IntervalTree tree = tree(itemId);
+        synchronized (tree) {
+            if (tree.overlaps(booking.getStart(), booking.getEnd())) {
+                throw new BookingOverlapException(itemId, booking.getStart(), booking.getEnd());
+            }
+            tree.add(booking.getStart(), booking.getEnd(), booking.getId());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        synchronized (tree) {
+                            tree.remove(booking.getStart(), booking.getId());
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Forgets all loaded items, for when bookings were changed behind the guard's back.
+     */
+    public void clear() {
+        trees.clear();
+    }
+
+    private IntervalTree tree(Long itemId) {
+        return trees.computeIfAbsent(itemId, id -> {
+            IntervalTree tree = new IntervalTree();
+            bookingRepository.findAllByItemIdAndStatus(id, Status.APPROVED)
+                    .forEach(b -> tree.add(b.getStart(), b.getEnd(), b.getId()));
+            return tree;
+        });
+    }
+
+}
@@ -0,0 +1,35 @@
+package isthatkirill.shareit.booking.overlap;
+
+import isthatkirill.shareit.booking.model.Booking;
+import isthatkirill.shareit.booking.repository.BookingRepository;
+import isthatkirill.shareit.util.exception.BookingOverlapException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Looks up overlaps through the GiST index of the {@code booking_approved_no_overlap} exclusion constraint.
+ * The constraint itself rejects the second of two concurrent overlapping approvals when it is flushed.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.overlap-guard", havingValue = "postgres", matchIfMissing = true)
+public class PostgresBookingOverlapGuard implements BookingOverlapGuard {
+
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public void checkFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsApprovedOverlap(itemId, start, end)) {
+            throw new BookingOverlapException(itemId, start, end);
+        }
+    }
+
+    @Override
+    public void reserve(Booking booking) {
+        checkFree(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+    }
+
+}
@@ -0,0 +1,28 @@
+package isthatkirill.shareit.booking.repository;
+
+import isthatkirill.shareit.booking.dto.BookingCursor;
+import isthatkirill.shareit.booking.model.BookingRole;
+import isthatkirill.shareit.booking.model.BookingState;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingFilter {
+
+    Long userId;
+    BookingRole role;
+    BookingState state;
+    LocalDateTime now;
+
+    /**
+     * Start reading after this position instead of at the page offset. Optional.
+     */
+    BookingCursor after;
+
+}
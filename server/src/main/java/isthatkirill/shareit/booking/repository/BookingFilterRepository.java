@@ -0,0 +1,15 @@
+package isthatkirill.shareit.booking.repository;
+
+import isthatkirill.shareit.booking.model.Booking;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface BookingFilterRepository {
+
+    /**
+     * Bookings ordered by {@code start DESC, id DESC} with item, item owner and booker fetched in the same query.
+     */
+    List<Booking> findAllByFilter(BookingFilter filter, Pageable pageable);
+
+}
@@ -0,0 +1,52 @@
+package isthatkirill.shareit.booking.repository;
+
+import isthatkirill.shareit.booking.dto.BookingCursor;
+import isthatkirill.shareit.booking.model.Booking;
+import isthatkirill.shareit.booking.model.BookingRole;
+import isthatkirill.shareit.item.model.Item;
+import isthatkirill.shareit.user.model.User;
+import org.springframework.data.domain.Pageable;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingFilterRepositoryImpl implements BookingFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findAllByFilter(BookingFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = (Join<Booking, Item>) booking.<Booking, Item>fetch("item", JoinType.INNER);
+        Join<Item, User> owner = (Join<Item, User>) item.<Item, User>fetch("owner", JoinType.INNER);
+        Join<Booking, User> booker = (Join<Booking, User>) booking.<Booking, User>fetch("booker", JoinType.INNER);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(filter.getRole() == BookingRole.OWNER
+                ? cb.equal(owner.get("id"), filter.getUserId())
+                : cb.equal(booker.get("id"), filter.getUserId()));
+        predicates.add(filter.getState().toPredicate(booking, cb, filter.getNow()));
+        BookingCursor after = filter.getAfter();
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(booking.get("start"), after.getStart()),
+                    cb.and(cb.equal(booking.get("start"), after.getStart()),
+                            cb.lessThan(booking.get("id"), after.getId()))));
+        }
+
+        query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+}
@@ -1,114 +1,104 @@
 package isthatkirill.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import isthatkirill.shareit.booking.model.Booking;
+import isthatkirill.shareit.booking.model.BookingPeriod;
 import isthatkirill.shareit.booking.model.BookingShort;
+import isthatkirill.shareit.booking.model.ItemBookingShort;
+import isthatkirill.shareit.booking.model.Status;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-@Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long id, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.booker.id = ?1 " +
-            "AND CURRENT_TIMESTAMP < b.start " +
-            "ORDER BY b.start DESC")
-    List<Booking> findFutureBookingsByBooker(Long id, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.booker.id = ?1 " +
-            "AND CURRENT_TIMESTAMP > b.end " +
-            "ORDER BY b.start DESC")
-    List<Booking> findPastBookingsByBooker(Long id, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.booker.id = ?1 " +
-            "AND CURRENT_TIMESTAMP < b.end " +
-            "AND CURRENT_TIMESTAMP > b.start " +
-            "ORDER BY b.start DESC")
-    List<Booking> findCurrentBookingsByBooker(Long id, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.booker.id = ?1 " +
-            "AND b.status = 'WAITING' " +
-            "ORDER BY b.start DESC")
-    List<Booking> findWaitingBookingsByBooker(Long id, Pageable pageable);
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.booker.id = ?1 " +
-            "AND b.status = 'REJECTED' " +
-            "ORDER BY b.start DESC")
-    List<Booking> findRejectedBookingsByBooker(Long id, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "AND CURRENT_TIMESTAMP < b.start " +
-            "ORDER BY b.start DESC")
-    List<Booking> findFutureBookingsByOwner(Long id, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "AND CURRENT_TIMESTAMP > b.end " +
-            "ORDER BY b.start DESC")
-    List<Booking> findPastBookingsByOwner(Long id, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "AND CURRENT_TIMESTAMP < b.end " +
-            "AND CURRENT_TIMESTAMP > b.start " +
-            "ORDER BY b.start DESC")
-    List<Booking> findCurrentBookingsByOwner(Long id, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "AND b.status = 'WAITING' " +
-            "ORDER BY b.start DESC")
-    List<Booking> findWaitingBookingsByOwner(Long id, Pageable pageable);
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingFilterRepository {
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "AND b.status = 'REJECTED' " +
-            "ORDER BY b.start DESC")
-    List<Booking> findRejectedBookingsByOwner(Long id, Pageable pageable);
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_OWNER_BOOKER)
+    Optional<Booking> findById(Long id);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllBookingsByOwner(Long id, Pageable pageable);
+    @EntityGraph(Booking.WITH_ITEM_OWNER_BOOKER)
+    List<Booking> findAllByIdIn(Collection<Long> ids);
 
-    @Query(value = "SELECT u.id as bookerId, b.start_date as start, b.end_date as \"end\", b.id as id " +
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(value = "SELECT b.booker_id as bookerId, b.start_date as start, b.end_date as \"end\", b.id as id " +
             "FROM booking b " +
-            "LEFT JOIN items i ON i.id = b.item_id " +
-            "LEFT JOIN users u ON u.id = b.booker_id " +
-            "WHERE i.id = ?1 " +
+            "WHERE b.item_id = ?1 " +
             "AND b.start_date < NOW() " +
             "AND b.status = 'APPROVED' " +
             "ORDER BY b.start_date DESC " +
             "LIMIT 1", nativeQuery = true)
     List<BookingShort> findLastBooking(Long itemId);
 
-    @Query(value = "SELECT u.id as bookerId, b.start_date as start, b.end_date as \"end\", b.id as id " +
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(value = "SELECT b.booker_id as bookerId, b.start_date as start, b.end_date as \"end\", b.id as id " +
             "FROM booking b " +
-            "LEFT JOIN items i ON i.id = b.item_id " +
-            "LEFT JOIN users u ON u.id = b.booker_id " +
-            "WHERE i.id = ?1 " +
+            "WHERE b.item_id = ?1 " +
             "AND b.start_date > NOW() " +
             "AND b.status = 'APPROVED' " +
             "ORDER BY b.start_date ASC " +
             "LIMIT 1", nativeQuery = true)
     List<BookingShort> findNextBooking(Long itemId);
 
-    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
-            "WHERE b.item.id = ?1 AND " +
-            "b.booker.id = ?2 AND " +
-            "b.status = 'APPROVED' AND " +
-            "b.end < CURRENT_TIMESTAMP")
-    boolean checkIfUserBookedItem(Long itemId, Long userId);
+    @Query(value = "SELECT t.itemId, t.bookerId, t.start, t.\"end\", t.id, t.isNext " +
+            "FROM (SELECT b.item_id as itemId, b.booker_id as bookerId, b.start_date as start, " +
+            "b.end_date as \"end\", b.id as id, b.start_date > NOW() as isNext, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id, b.start_date > NOW() " +
+            "ORDER BY CASE WHEN b.start_date > NOW() THEN b.start_date END ASC, b.start_date DESC) as rn " +
+            "FROM booking b " +
+            "WHERE b.item_id IN ?1 " +
+            "AND b.start_date <> NOW() " +
+            "AND b.status = 'APPROVED') t " +
+            "WHERE t.rn = 1", nativeQuery = true)
+    List<ItemBookingShort> findNextAndLastBookings(Collection<Long> itemIds);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM booking b " +
+            "WHERE b.item_id = :itemId " +
+            "AND b.booker_id = :userId " +
+            "AND b.status = 'APPROVED' " +
+            "AND b.end_date < CURRENT_TIMESTAMP)", nativeQuery = true)
+    boolean checkIfUserBookedItem(@Param("itemId") Long itemId, @Param("userId") Long userId);
+
+    // like the other queries run while approving, it must not flush the approvals made so far, or a batch of
+    // approvals turns into one UPDATE per booking; BookingServiceImpl checks the batch against itself instead
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM booking b " +
+            "WHERE b.item_id = :itemId " +
+            "AND b.status = 'APPROVED' " +
+            "AND tsrange(b.start_date, b.end_date) && tsrange(:start, :end))", nativeQuery = true)
+    boolean existsApprovedOverlap(@Param("itemId") Long itemId, @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    List<Booking> findAllByItemIdAndStatus(Long itemId, Status status);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker " +
+            "WHERE b.booker.id = ?1 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Stream<Booking> streamAllByBookerId(Long bookerId);
 
+    @Query("SELECT b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.item.id = ?1 AND b.status IN ?2 " +
+            "ORDER BY b.start")
+    List<BookingPeriod> findPeriodsByItemIdAndStatusIn(Long itemId, Collection<Status> statuses);
 
 }
@@ -1,9 +1,13 @@
 package isthatkirill.shareit.booking.service;
 
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoRequest;
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoResponse;
 import isthatkirill.shareit.booking.dto.BookingDtoRequest;
 import isthatkirill.shareit.booking.dto.BookingDtoResponse;
 import isthatkirill.shareit.booking.model.Booking;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface BookingService {
@@ -14,10 +18,14 @@ public interface BookingService {
 
     BookingDtoResponse approve(Long userId, Long bookingId, boolean isApproved);
 
+    List<BookingApprovalDtoResponse> approveAll(Long userId, List<BookingApprovalDtoRequest> approvals);
+
     BookingDtoResponse getById(Long bookingId, Long userId);
 
-    List<BookingDtoResponse> getByOwnerId(Long ownerId, String state, Integer from, Integer size);
+    List<BookingDtoResponse> getByOwnerId(Long ownerId, String state, Integer from, Integer size, String after);
+
+    List<BookingDtoResponse> getByBookerId(Long bookerId, String state, Integer from, Integer size, String after);
 
-    List<BookingDtoResponse> getByBookerId(Long bookerId, String state, Integer from, Integer size);
+    void exportByBookerId(Long bookerId, OutputStream out) throws IOException;
 
 }
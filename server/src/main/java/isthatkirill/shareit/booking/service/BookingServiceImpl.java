@@ -1,36 +1,58 @@
 package isthatkirill.shareit.booking.service;
 
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoRequest;
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoResponse;
+import isthatkirill.shareit.booking.dto.BookingCursor;
 import isthatkirill.shareit.booking.dto.BookingDtoRequest;
 import isthatkirill.shareit.booking.dto.BookingDtoResponse;
 import isthatkirill.shareit.booking.mapper.BookingMapper;
 import isthatkirill.shareit.booking.model.Booking;
+import isthatkirill.shareit.booking.model.BookingRole;
+import isthatkirill.shareit.booking.model.BookingState;
 import isthatkirill.shareit.booking.model.Status;
+import isthatkirill.shareit.booking.overlap.BookingOverlapGuard;
+import isthatkirill.shareit.booking.repository.BookingFilter;
 import isthatkirill.shareit.booking.repository.BookingRepository;
+import isthatkirill.shareit.item.availability.service.ItemAvailabilityService;
 import isthatkirill.shareit.item.model.Item;
 import isthatkirill.shareit.item.service.ItemService;
+import isthatkirill.shareit.item.summary.service.ItemBookingSummaryService;
 import isthatkirill.shareit.user.model.User;
 import isthatkirill.shareit.user.service.UserService;
 import isthatkirill.shareit.util.exception.*;
+import isthatkirill.shareit.util.export.NdjsonExporter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final String OVERLAP_CONSTRAINT = "booking_approved_no_overlap";
+
     private final UserService userService;
     private final ItemService itemService;
     private final BookingMapper bookingMapper;
     private final BookingRepository bookingRepository;
+    private final BookingOverlapGuard bookingOverlapGuard;
+    private final ItemAvailabilityService itemAvailabilityService;
+    private final NdjsonExporter ndjsonExporter;
+    private final ItemBookingSummaryService itemBookingSummaryService;
 
     @Override
     @Transactional
@@ -43,8 +65,10 @@ public class BookingServiceImpl implements BookingService {
         } else if (Objects.equals(item.getOwner().getId(), userId)) {
             throw new BookYourOwnItemException("Cannot book your own item");
         }
+        bookingOverlapGuard.checkFree(itemId, bookingDtoRequest.getStart(), bookingDtoRequest.getEnd());
         Booking booking = bookingMapper.toBooking(bookingDtoRequest, user, item);
         booking.setStatus(Status.WAITING);
+        itemAvailabilityService.evict(itemId);
         log.info("Booking created: itemId={}, userId={}", itemId, userId);
         return bookingMapper.toBookingDtoResponse(bookingRepository.save(booking));
     }
@@ -53,13 +77,63 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public BookingDtoResponse approve(Long userId, Long bookingId, boolean isApproved) {
         Booking booking = checkBookingExistentAndGet(bookingId);
-        isOwner(booking, userId);
-        if (booking.getStatus().equals(Status.APPROVED) || booking.getStatus().equals(Status.REJECTED)) {
-            throw new ChangeBookingStatusException("Cannot change approved or rejected status");
-        }
-        booking.setStatus(isApproved ? Status.APPROVED : Status.REJECTED);
+        changeStatus(booking, userId, isApproved);
         log.info("User id={} set booking id={} status equal to {}", userId, booking, booking.getStatus().name());
-        return bookingMapper.toBookingDtoResponse(bookingRepository.save(booking));
+        try {
+            return bookingMapper.toBookingDtoResponse(bookingRepository.saveAndFlush(booking));
+        } catch (DataIntegrityViolationException e) {
+            throw translateOverlap(e, () -> new BookingOverlapException(booking.getItem().getId(),
+                    booking.getStart(), booking.getEnd()));
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<BookingApprovalDtoResponse> approveAll(Long userId, List<BookingApprovalDtoRequest> approvals) {
+        Set<Long> ids = approvals.stream()
+                .map(BookingApprovalDtoRequest::getBookingId)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<Long, List<Booking>> approvedInBatch = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        List<BookingApprovalDtoResponse> results = new ArrayList<>(approvals.size());
+        for (BookingApprovalDtoRequest approval : approvals) {
+            Long bookingId = approval.getBookingId();
+            boolean isApproved = approval.getApproved();
+            BookingApprovalDtoResponse.BookingApprovalDtoResponseBuilder result = BookingApprovalDtoResponse.builder()
+                    .bookingId(bookingId);
+            try {
+                if (!seen.add(bookingId)) {
+                    throw new IllegalArgumentException("Duplicate booking id=" + bookingId);
+                }
+                Booking booking = bookings.get(bookingId);
+                if (booking == null) {
+                    throw new NotFoundException(Booking.class, "Id=" + bookingId);
+                }
+                if (isApproved) {
+                    checkFreeInBatch(booking, approvedInBatch);
+                }
+                changeStatus(booking, userId, isApproved);
+                if (isApproved) {
+                    approvedInBatch.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>()).add(booking);
+                }
+                result.status(booking.getStatus());
+            } catch (NotFoundException | IncorrectOwnerException | ChangeBookingStatusException
+                     | BookingOverlapException | IllegalArgumentException e) {
+                result.error(e.getMessage());
+            }
+            results.add(result.build());
+        }
+        try {
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw translateOverlap(e, () -> new BookingOverlapException(
+                    "Bookings were approved concurrently for the same period, retry the batch"));
+        }
+        log.info("User id={} changed status of {} bookings in one batch", userId,
+                results.stream().filter(r -> r.getStatus() != null).count());
+        return results;
     }
 
     @Override
@@ -73,81 +147,32 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDtoResponse> getByBookerId(Long bookerId, String state, Integer from, Integer size) {
-        userService.checkUserExistentAndGet(bookerId);
-        Pageable pageable = PageRequest.of(from > 0 ? from / size : 0, size);
-        List<BookingDtoResponse> bookings;
-        switch (state) {
-            case "ALL":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findAllByBookerIdOrderByStartDesc(bookerId, pageable));
-                break;
-            case "FUTURE":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findFutureBookingsByBooker(bookerId, pageable));
-                break;
-            case "PAST":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findPastBookingsByBooker(bookerId, pageable));
-                break;
-            case "CURRENT":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findCurrentBookingsByBooker(bookerId, pageable));
-                break;
-            case "WAITING":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findWaitingBookingsByBooker(bookerId, pageable));
-                break;
-            case "REJECTED":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findRejectedBookingsByBooker(bookerId, pageable));
-                break;
-            default:
-                throw new UnsupportedStatusException("Unknown state: " + state);
-        }
+    public List<BookingDtoResponse> getByBookerId(Long bookerId, String state, Integer from, Integer size, String after) {
+        userService.checkUserExistent(bookerId);
+        List<BookingDtoResponse> bookings = findBookings(BookingRole.BOOKER, bookerId, state, from, size, after);
         log.info("[booker] User id={} requested information about his bookings with state={}", bookerId, state);
         return bookings;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDtoResponse> getByOwnerId(Long ownerId, String state, Integer from, Integer size) {
-        userService.checkUserExistentAndGet(ownerId);
-        Pageable pageable = PageRequest.of(from > 0 ? from / size : 0, size);
-        List<BookingDtoResponse> bookings;
-        switch (state) {
-            case "ALL":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findAllBookingsByOwner(ownerId, pageable));
-                break;
-            case "FUTURE":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findFutureBookingsByOwner(ownerId, pageable));
-                break;
-            case "PAST":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findPastBookingsByOwner(ownerId, pageable));
-                break;
-            case "CURRENT":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findCurrentBookingsByOwner(ownerId, pageable));
-                break;
-            case "WAITING":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findWaitingBookingsByOwner(ownerId, pageable));
-                break;
-            case "REJECTED":
-                bookings = bookingMapper.toBookingDtoResponse(bookingRepository
-                        .findRejectedBookingsByOwner(ownerId, pageable));
-                break;
-            default:
-                throw new UnsupportedStatusException("Unknown state: " + state);
-        }
-
+    public List<BookingDtoResponse> getByOwnerId(Long ownerId, String state, Integer from, Integer size, String after) {
+        userService.checkUserExistent(ownerId);
+        List<BookingDtoResponse> bookings = findBookings(BookingRole.OWNER, ownerId, state, from, size, after);
         log.info("[owner] User id={} requested information about his bookings with state={}", ownerId, state);
         return bookings;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportByBookerId(Long bookerId, OutputStream out) throws IOException {
+        userService.checkUserExistent(bookerId);
+        try (Stream<Booking> bookings = bookingRepository.streamAllByBookerId(bookerId)) {
+            long count = ndjsonExporter.export(bookings, bookingMapper::toBookingDtoResponse, out);
+            log.info("[booker] User id={} exported {} bookings", bookerId, count);
+        }
+    }
+
     @Override
     public Booking checkBookingExistentAndGet(Long id) {
         return bookingRepository.findById(id)
@@ -155,6 +180,53 @@ public class BookingServiceImpl implements BookingService {
     }
 
 
+    private List<BookingDtoResponse> findBookings(BookingRole role, Long userId, String state,
+                                                  Integer from, Integer size, String after) {
+        BookingFilter filter = BookingFilter.builder()
+                .userId(userId)
+                .role(role)
+                .state(BookingState.from(state))
+                .now(LocalDateTime.now())
+                .after(after == null ? null : BookingCursor.parse(after))
+                .build();
+        Pageable pageable = PageRequest.of(after == null && from > 0 ? from / size : 0, size);
+        return bookingMapper.toBookingDtoResponse(bookingRepository.findAllByFilter(filter, pageable));
+    }
+
+    private void changeStatus(Booking booking, Long userId, boolean isApproved) {
+        isOwner(booking, userId);
+        if (booking.getStatus().equals(Status.APPROVED) || booking.getStatus().equals(Status.REJECTED)) {
+            throw new ChangeBookingStatusException("Cannot change approved or rejected status");
+        }
+        if (isApproved) {
+            bookingOverlapGuard.reserve(booking);
+            itemBookingSummaryService.include(booking);
+        }
+        booking.setStatus(isApproved ? Status.APPROVED : Status.REJECTED);
+        itemAvailabilityService.evict(booking.getItem().getId());
+    }
+
+    /**
+     * Bookings approved earlier in the same batch are flushed together at its end, and the guard's queries run with
+     * {@code FlushModeType.COMMIT} so as not to flush them one by one. The guard therefore cannot see them.
+     */
+    private void checkFreeInBatch(Booking booking, Map<Long, List<Booking>> approvedInBatch) {
+        Long itemId = booking.getItem().getId();
+        for (Booking other : approvedInBatch.getOrDefault(itemId, List.of())) {
+            if (other.getStart().isBefore(booking.getEnd()) && booking.getStart().isBefore(other.getEnd())) {
+                throw new BookingOverlapException(itemId, booking.getStart(), booking.getEnd());
+            }
+        }
+    }
+
+    private RuntimeException translateOverlap(DataIntegrityViolationException e,
+                                              Supplier<BookingOverlapException> overlap) {
+        if (String.valueOf(e.getMostSpecificCause().getMessage()).contains(OVERLAP_CONSTRAINT)) {
+            return overlap.get();
+        }
+        return e;
+    }
+
     private void isBookerOrOwner(Booking booking, Long userId) {
         Long ownerId = booking.getItem().getOwner().getId();
         Long bookerId = booking.getBooker().getId();
@@ -0,0 +1,22 @@
+package isthatkirill.shareit.item.availability.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemAvailabilityDto {
+
+    Long itemId;
+    LocalDateTime from;
+    LocalDateTime to;
+    List<TimeWindow> busy;
+    List<TimeWindow> free;
+
+}
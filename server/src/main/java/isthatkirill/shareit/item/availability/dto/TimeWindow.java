@@ -0,0 +1,13 @@
+package isthatkirill.shareit.item.availability.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class TimeWindow {
+
+    LocalDateTime start;
+    LocalDateTime end;
+
+}
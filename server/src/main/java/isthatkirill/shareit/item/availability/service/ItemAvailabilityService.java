@@ -0,0 +1,13 @@
+package isthatkirill.shareit.item.availability.service;
+
+import isthatkirill.shareit.item.availability.dto.ItemAvailabilityDto;
+
+import java.time.LocalDateTime;
+
+public interface ItemAvailabilityService {
+
+    ItemAvailabilityDto getAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to);
+
+    void evict(Long itemId);
+
+}
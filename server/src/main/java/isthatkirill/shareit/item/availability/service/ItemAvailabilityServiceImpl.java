@@ -0,0 +1,129 @@
+package isthatkirill.shareit.item.availability.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import isthatkirill.shareit.booking.model.BookingPeriod;
+import isthatkirill.shareit.booking.model.Status;
+import isthatkirill.shareit.booking.repository.BookingRepository;
+import isthatkirill.shareit.item.availability.dto.ItemAvailabilityDto;
+import isthatkirill.shareit.item.availability.dto.TimeWindow;
+import isthatkirill.shareit.item.service.ItemService;
+import isthatkirill.shareit.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Busy periods of an item are merged once per item and kept in {@code itemBusyCache} until a booking of the item
+ * is created or changes status, so a calendar render is a binary search over a sorted list.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemAvailabilityServiceImpl implements ItemAvailabilityService {
+
+    private static final List<Status> BUSY_STATUSES = List.of(Status.APPROVED, Status.WAITING);
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, List<TimeWindow>> itemBusyCache;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto getAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Parameter 'from' must be before 'to'");
+        }
+        userService.checkUserExistent(userId);
+        itemService.checkItemExistentAndGet(itemId);
+        List<TimeWindow> busy = clip(itemBusyCache.get(itemId, this::loadBusy), from, to);
+        log.info("User id={} requested availability of item id={} from {} to {}", userId, itemId, from, to);
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busy)
+                .free(gaps(busy, from, to))
+                .build();
+    }
+
+    @Override
+    public void evict(Long itemId) {
+        itemBusyCache.invalidate(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    itemBusyCache.invalidate(itemId);
+                }
+            });
+        }
+    }
+
+    private List<TimeWindow> loadBusy(Long itemId) {
+        List<TimeWindow> merged = new ArrayList<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (BookingPeriod period : bookingRepository.findPeriodsByItemIdAndStatusIn(itemId, BUSY_STATUSES)) {
+            if (end != null && !period.getStart().isAfter(end)) {
+                if (period.getEnd().isAfter(end)) {
+                    end = period.getEnd();
+                }
+                continue;
+            }
+            if (end != null) {
+                merged.add(new TimeWindow(start, end));
+            }
+            start = period.getStart();
+            end = period.getEnd();
+        }
+        if (end != null) {
+            merged.add(new TimeWindow(start, end));
+        }
+        return Collections.unmodifiableList(merged);
+    }
+
+    private static List<TimeWindow> clip(List<TimeWindow> busy, LocalDateTime from, LocalDateTime to) {
+        int low = 0;
+        int high = busy.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (busy.get(mid).getEnd().isAfter(from)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        List<TimeWindow> clipped = new ArrayList<>();
+        for (int i = low; i < busy.size() && busy.get(i).getStart().isBefore(to); i++) {
+            TimeWindow window = busy.get(i);
+            clipped.add(new TimeWindow(window.getStart().isBefore(from) ? from : window.getStart(),
+                    window.getEnd().isAfter(to) ? to : window.getEnd()));
+        }
+        return clipped;
+    }
+
+    private static List<TimeWindow> gaps(List<TimeWindow> busy, LocalDateTime from, LocalDateTime to) {
+        List<TimeWindow> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (TimeWindow window : busy) {
+            if (window.getStart().isAfter(cursor)) {
+                free.add(new TimeWindow(cursor, window.getStart()));
+            }
+            cursor = window.getEnd();
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new TimeWindow(cursor, to));
+        }
+        return free;
+    }
+
+}
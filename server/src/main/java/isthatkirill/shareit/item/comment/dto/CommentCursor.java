@@ -0,0 +1,52 @@
+package isthatkirill.shareit.item.comment.dto;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Position in an item's comments ordered by {@code created DESC, id DESC}, passed by clients as
+ * {@code cursor=<created>,<id>}. The next page holds the comments strictly older than this position.
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CommentCursor {
+
+    LocalDateTime created;
+    Long id;
+
+    public static CommentCursor parse(String token) {
+        String[] parts = token.split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Cursor must look like <created>,<id>: " + token);
+        }
+        try {
+            return new CommentCursor(LocalDateTime.parse(parts[0].trim()), Long.parseLong(parts[1].trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor must look like <created>,<id>: " + token);
+        }
+    }
+
+    /**
+     * @return cursor after the last comment of a full page, or {@code null} if there is nothing more to read
+     */
+    public static CommentCursor next(List<CommentDtoResponse> page, int size) {
+        if (page.isEmpty() || page.size() < size) return null;
+        CommentDtoResponse last = page.get(page.size() - 1);
+        return new CommentCursor(last.getCreated(), last.getId());
+    }
+
+    @Override
+    public String toString() {
+        return created + "," + id;
+    }
+
+}
@@ -5,6 +5,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import isthatkirill.shareit.item.comment.dto.CommentDtoResponse;
 import isthatkirill.shareit.item.comment.model.Comment;
+import isthatkirill.shareit.item.comment.model.ItemCommentShort;
 import isthatkirill.shareit.item.model.Item;
 
 import java.util.List;
@@ -21,4 +22,6 @@ public interface CommentMapper {
     @Mapping(target = "authorName", source = "comment.author.name")
     List<CommentDtoResponse> toCommentDtoResponse(List<Comment> comment);
 
+    CommentDtoResponse toCommentDtoResponse(ItemCommentShort comment);
+
 }
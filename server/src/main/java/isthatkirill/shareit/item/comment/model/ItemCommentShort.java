@@ -0,0 +1,17 @@
+package isthatkirill.shareit.item.comment.model;
+
+import java.time.LocalDateTime;
+
+public interface ItemCommentShort {
+
+    Long getId();
+
+    Long getItemId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+
+}
@@ -1,14 +1,41 @@
 package isthatkirill.shareit.item.comment.repository;
 
+import isthatkirill.shareit.item.comment.model.ItemCommentShort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import isthatkirill.shareit.item.comment.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findByItemId(Long itemId);
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.item.id = ?1 " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<Comment> findLatestByItemId(Long itemId, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.item.id = ?1 " +
+            "AND (c.created < ?2 OR (c.created = ?2 AND c.id < ?3)) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<Comment> findPageByItemIdBefore(Long itemId, LocalDateTime created, Long id, Pageable pageable);
+
+    @Query(value = "SELECT t.id, t.itemId, t.text, t.authorName, t.created " +
+            "FROM (SELECT c.id as id, c.item_id as itemId, c.text as text, u.name as authorName, " +
+            "c.created as created, " +
+            "ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.created DESC, c.id DESC) as rn " +
+            "FROM comments c " +
+            "JOIN users u ON u.id = c.author_id " +
+            "WHERE c.item_id IN ?1) t " +
+            "WHERE t.rn <= ?2 " +
+            "ORDER BY t.itemId, t.created DESC, t.id DESC", nativeQuery = true)
+    List<ItemCommentShort> findLatestByItemIdIn(Collection<Long> itemIds, int limit);
 
 }
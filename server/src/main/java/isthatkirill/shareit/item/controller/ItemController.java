@@ -1,13 +1,23 @@
 package isthatkirill.shareit.item.controller;
 
+import isthatkirill.shareit.item.availability.dto.ItemAvailabilityDto;
+import isthatkirill.shareit.item.availability.service.ItemAvailabilityService;
 import isthatkirill.shareit.item.dto.ItemDtoRequest;
 import isthatkirill.shareit.item.dto.ItemDtoResponse;
 import isthatkirill.shareit.item.service.ItemService;
+import isthatkirill.shareit.user.service.UserService;
+import isthatkirill.shareit.util.etag.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import isthatkirill.shareit.item.comment.dto.CommentCursor;
 import isthatkirill.shareit.item.comment.dto.CommentDtoRequest;
 import isthatkirill.shareit.item.comment.dto.CommentDtoResponse;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,13 +25,23 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ItemService itemService;
+    private final ItemAvailabilityService itemAvailabilityService;
+    private final UserService userService;
 
     @PostMapping
     public ItemDtoRequest create(@RequestBody ItemDtoRequest itemDtoRequest, @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemService.create(itemDtoRequest, userId);
     }
 
+    @PostMapping("/batch")
+    public List<ItemDtoRequest> createAll(@RequestBody List<ItemDtoRequest> itemDtoRequests,
+                                          @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemService.createAll(itemDtoRequests, userId);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDtoRequest update(@RequestBody ItemDtoRequest itemDtoRequest,
                                  @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -30,9 +50,10 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemDtoResponse getById(@PathVariable Long itemId,
-                                   @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemService.getById(itemId, userId);
+    public ResponseEntity<ItemDtoResponse> getById(@PathVariable Long itemId,
+                                                   @RequestHeader("X-Sharer-User-Id") Long userId) {
+        ItemDtoResponse item = itemService.getById(itemId, userId);
+        return ResponseEntity.ok().eTag(ETags.of(item)).body(item);
     }
 
     @GetMapping
@@ -42,6 +63,15 @@ public class ItemController {
         return itemService.getByOwner(userId, from, size);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        // checked before the body starts so that an unknown user still gets a plain 404
+        userService.checkUserExistent(userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> itemService.exportByOwner(userId, out));
+    }
+
     @GetMapping("/search")
     public List<ItemDtoRequest> search(@RequestParam("text") String text,
                                        @RequestParam Integer from,
@@ -49,6 +79,14 @@ public class ItemController {
         return itemService.search(text, from, size);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long itemId,
+                                               @RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemAvailabilityService.getAvailability(itemId, userId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDtoResponse createComment(@PathVariable Long itemId,
                                             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -56,4 +94,16 @@ public class ItemController {
         return itemService.createComment(itemId, userId, commentDtoRequest);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDtoResponse>> getComments(@PathVariable Long itemId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam Integer size) {
+        List<CommentDtoResponse> comments = itemService.getComments(itemId, cursor, size);
+        CommentCursor next = CommentCursor.next(comments, size);
+        if (next == null) return ResponseEntity.ok(comments);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, next.toString())
+                .body(comments);
+    }
+
 }
@@ -11,6 +11,7 @@ import lombok.experimental.FieldDefaults;
 public class ItemDtoRequest {
 
     Long id;
+    Long version;
     String name;
     String description;
     Boolean available;
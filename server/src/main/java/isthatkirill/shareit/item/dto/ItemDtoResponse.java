@@ -15,11 +15,13 @@ import java.util.List;
 public class ItemDtoResponse {
 
     Long id;
+    Long version;
     String name;
     String description;
     Boolean available;
     BookingShort nextBooking;
     BookingShort lastBooking;
+    Integer commentCount;
     List<CommentDtoResponse> comments;
 
 }
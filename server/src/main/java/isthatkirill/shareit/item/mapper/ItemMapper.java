@@ -18,6 +18,8 @@ public interface ItemMapper {
     @Mapping(target = "id", source = "itemId")
     @Mapping(target = "name", source = "itemDtoRequest.name")
     @Mapping(target = "requestId", source = "itemDtoRequest.requestId")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
     Item toItem(ItemDtoRequest itemDtoRequest, User owner, Long itemId);
 
     ItemDtoRequest toItemDtoRequest(Item item);
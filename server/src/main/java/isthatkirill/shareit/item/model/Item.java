@@ -3,11 +3,18 @@ package isthatkirill.shareit.item.model;
 import isthatkirill.shareit.user.model.User;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 
 import javax.persistence.*;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @Builder
 @Table(name = "items")
 @NoArgsConstructor
@@ -16,9 +23,14 @@ import javax.persistence.*;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    long version;
+
     @Column(name = "name", nullable = false)
     String name;
 
@@ -28,6 +40,12 @@ public class Item {
     @Column(name = "is_available", nullable = false)
     boolean available;
 
+    // comments do not change the item itself, so they must not fail an owner's update with a version conflict;
+    // @DynamicUpdate keeps the owner's update from writing back the count it loaded
+    @OptimisticLock(excluded = true)
+    @Column(name = "comment_count", nullable = false)
+    int commentCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", referencedColumnName = "id")
     User owner;
@@ -2,22 +2,47 @@ package isthatkirill.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import isthatkirill.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     @Query(value = "SELECT * FROM items " +
-            "WHERE (UPPER(description) LIKE UPPER(CONCAT('%', :searchTerm, '%')) OR " +
-            "UPPER(name) LIKE UPPER(CONCAT('%', :searchTerm, '%'))) AND " +
-            "is_available = true", nativeQuery = true)
-    List<Item> search(@Param("searchTerm") String searchTerm, Pageable pageable);
+            "WHERE search_vector @@ to_tsquery('simple', :query) AND " +
+            "is_available = true " +
+            "ORDER BY ts_rank(search_vector, to_tsquery('simple', :query)) DESC, id", nativeQuery = true)
+    List<Item> fullTextSearch(@Param("query") String query, Pageable pageable);
 
     List<Item> findAllByOwnerIdOrderById(Long id, Pageable pageable);
 
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT i FROM Item i WHERE i.owner.id = ?1 ORDER BY i.id")
+    Stream<Item> streamAllByOwnerId(Long ownerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
 }
@@ -0,0 +1,22 @@
+package isthatkirill.shareit.item.search;
+
+import isthatkirill.shareit.item.model.Item;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Backend for {@link isthatkirill.shareit.item.service.ItemService#search}. Only available items are returned,
+ * best matches first.
+ */
+public interface ItemSearchEngine {
+
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * Called after an item was created or updated, so that engines keeping their own index can refresh it.
+     */
+    default void index(Item item) {
+    }
+
+}
@@ -0,0 +1,36 @@
+package isthatkirill.shareit.item.search;
+
+import isthatkirill.shareit.item.model.Item;
+import isthatkirill.shareit.item.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Searches the GIN-indexed {@code items.search_vector} column. Every word of the text is matched as a prefix,
+ * so results keep up with a search box while the user is still typing.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        if (query.isEmpty()) return new ArrayList<>();
+        return itemRepository.fullTextSearch(query, pageable);
+    }
+
+}
@@ -0,0 +1,126 @@
+package isthatkirill.shareit.item.search;
+
+import isthatkirill.shareit.item.model.Item;
+import isthatkirill.shareit.item.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process trigram index for databases without full-text search (H2). Keeps the substring semantics of
+ * {@code LIKE '%text%'} on name and description; only search terms shorter than a trigram scan every item.
+ * The index is filled on startup and refreshed through {@link #index(Item)}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+
+    private static final int GRAM = 3;
+
+    private final ItemRepository itemRepository;
+    private final Map<Long, IndexedItem> items = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        itemRepository.findAll().forEach(this::index);
+        log.info("Trigram search index built: {} items, {} trigrams", items.size(), postings.size());
+    }
+
+    @Override
+    public synchronized void index(Item item) {
+        IndexedItem indexed = new IndexedItem(item.getId(), normalize(item.getName()),
+                normalize(item.getDescription()), item.isAvailable());
+        IndexedItem previous = items.put(item.getId(), indexed);
+        if (previous != null) {
+            previous.trigrams().forEach(gram -> postings.computeIfPresent(gram, (g, ids) -> {
+                ids.remove(item.getId());
+                return ids.isEmpty() ? null : ids;
+            }));
+        }
+        indexed.trigrams().forEach(gram -> postings
+                .computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet())
+                .add(item.getId()));
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String term = normalize(text);
+        List<Long> ids = candidates(term).stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .filter(i -> i.isAvailable() && i.rank(term) > 0)
+                .sorted(Comparator.comparingInt((IndexedItem i) -> i.rank(term)).reversed()
+                        .thenComparing(IndexedItem::getId))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(IndexedItem::getId)
+                .collect(Collectors.toList());
+        Map<Long, Item> found = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private Collection<Long> candidates(String term) {
+        if (term.length() < GRAM) return items.keySet();
+        Set<Long> result = null;
+        for (String gram : trigrams(term)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) return Collections.emptySet();
+            if (result == null) {
+                result = new HashSet<>(ids);
+            } else {
+                result.retainAll(ids);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    @Value
+    private static class IndexedItem {
+
+        Long id;
+        String name;
+        String description;
+        boolean available;
+
+        Set<String> trigrams() {
+            Set<String> grams = TrigramItemSearchEngine.trigrams(name);
+            grams.addAll(TrigramItemSearchEngine.trigrams(description));
+            return grams;
+        }
+
+        int rank(String term) {
+            return (name.contains(term) ? 2 : 0) + (description.contains(term) ? 1 : 0);
+        }
+
+    }
+
+}
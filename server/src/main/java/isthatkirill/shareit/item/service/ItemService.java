@@ -6,12 +6,16 @@ import isthatkirill.shareit.item.comment.dto.CommentDtoRequest;
 import isthatkirill.shareit.item.comment.dto.CommentDtoResponse;
 import isthatkirill.shareit.item.model.Item;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ItemService {
 
     ItemDtoRequest create(ItemDtoRequest itemDtoRequest, Long id);
 
+    List<ItemDtoRequest> createAll(List<ItemDtoRequest> itemDtoRequests, Long ownerId);
+
     ItemDtoRequest update(ItemDtoRequest itemDtoRequest, Long ownerId, Long itemId);
 
     ItemDtoResponse getById(Long itemId, Long userId);
@@ -20,8 +24,12 @@ public interface ItemService {
 
     List<ItemDtoRequest> search(String text, Integer from, Integer size);
 
+    void exportByOwner(Long ownerId, OutputStream out) throws IOException;
+
     Item checkItemExistentAndGet(Long id);
 
     CommentDtoResponse createComment(Long itemId, Long userId, CommentDtoRequest commentDtoRequest);
 
+    List<CommentDtoResponse> getComments(Long itemId, String cursor, Integer size);
+
 }
@@ -1,6 +1,8 @@
 package isthatkirill.shareit.item.service;
 
 import isthatkirill.shareit.booking.model.BookingShort;
+import isthatkirill.shareit.booking.model.BookingShortImpl;
+import isthatkirill.shareit.booking.model.ItemBookingShort;
 import isthatkirill.shareit.booking.repository.BookingRepository;
 import isthatkirill.shareit.item.dto.ItemDtoRequest;
 import isthatkirill.shareit.item.dto.ItemDtoResponse;
@@ -11,56 +13,103 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import isthatkirill.shareit.item.comment.dto.CommentDtoRequest;
+import isthatkirill.shareit.item.comment.dto.CommentCursor;
 import isthatkirill.shareit.item.comment.dto.CommentDtoResponse;
 import isthatkirill.shareit.item.comment.mapper.CommentMapper;
 import isthatkirill.shareit.item.comment.model.Comment;
+import isthatkirill.shareit.item.comment.model.ItemCommentShort;
 import isthatkirill.shareit.item.comment.repository.CommentRepository;
 import isthatkirill.shareit.item.mapper.ItemMapper;
 import isthatkirill.shareit.item.model.Item;
 import isthatkirill.shareit.item.repository.ItemRepository;
+import isthatkirill.shareit.item.search.ItemSearchEngine;
+import isthatkirill.shareit.item.summary.model.ItemBookingSummary;
+import isthatkirill.shareit.item.summary.service.ItemBookingSummaryService;
 import isthatkirill.shareit.util.exception.CommentingDeniedException;
 import isthatkirill.shareit.util.exception.IncorrectOwnerException;
 import isthatkirill.shareit.util.exception.NotFoundException;
+import isthatkirill.shareit.util.exception.VersionConflictException;
+import isthatkirill.shareit.util.export.NdjsonExporter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
+    /**
+     * Comments embedded into an item response; older ones are read through {@link #getComments}.
+     */
+    static final int LATEST_COMMENTS = 10;
+
     private final ItemRepository itemRepository;
     private final UserService userService;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final NdjsonExporter ndjsonExporter;
+    private final ItemBookingSummaryService itemBookingSummaryService;
 
     @Override
     @Transactional
     public ItemDtoRequest create(ItemDtoRequest itemDtoRequest, Long ownerId) {
         User user = userService.checkUserExistentAndGet(ownerId);
         Item item = itemMapper.toItem(itemDtoRequest, user, null);
+        item = itemRepository.save(item);
+        itemBookingSummaryService.createEmpty(List.of(item.getId()));
+        indexAfterCommit(List.of(item));
         log.info("Item created: {} by owner id = {}", itemDtoRequest.getName(), ownerId);
-        return itemMapper.toItemDtoRequest(itemRepository.save(item));
+        return itemMapper.toItemDtoRequest(item);
+    }
+
+    @Override
+    @Transactional
+    public List<ItemDtoRequest> createAll(List<ItemDtoRequest> itemDtoRequests, Long ownerId) {
+        User user = userService.checkUserExistentAndGet(ownerId);
+        List<Item> items = itemDtoRequests.stream()
+                .map(itemDtoRequest -> itemMapper.toItem(itemDtoRequest, user, null))
+                .collect(Collectors.toList());
+        items = itemRepository.saveAll(items);
+        itemBookingSummaryService.createEmpty(items.stream().map(Item::getId).collect(Collectors.toList()));
+        itemRepository.flush();
+        indexAfterCommit(items);
+        log.info("{} items created by owner id = {}", items.size(), ownerId);
+        return itemMapper.toItemDtoRequest(items);
     }
 
     @Override
     @Transactional
     public ItemDtoRequest update(ItemDtoRequest itemDtoRequest, Long ownerId, Long itemId) {
         User user = userService.checkUserExistentAndGet(ownerId);
-        checkItemExistentAndGet(itemId);
+        // locked like createComment, so the state cached after this update carries the current comment count
+        itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new NotFoundException(Item.class, "Id=" + itemId));
         Item item = getItemIfHaveCorrectOwner(itemMapper.toItem(itemDtoRequest, user, itemId));
+        if (itemDtoRequest.getVersion() != null && itemDtoRequest.getVersion() != item.getVersion()) {
+            throw new VersionConflictException(Item.class, itemId, itemDtoRequest.getVersion(), item.getVersion());
+        }
         if (itemDtoRequest.getAvailable() != null) item.setAvailable(itemDtoRequest.getAvailable());
         if (itemDtoRequest.getName() != null) item.setName(itemDtoRequest.getName());
         if (itemDtoRequest.getDescription() != null) item.setDescription(itemDtoRequest.getDescription());
+        item = itemRepository.saveAndFlush(item);
+        indexAfterCommit(List.of(item));
         log.info("Item updated: name = {}, id = {}", itemDtoRequest.getName(), itemId);
-        return itemMapper.toItemDtoRequest(itemRepository.save(item));
+        return itemMapper.toItemDtoRequest(item);
     }
 
     @Override
@@ -70,15 +119,21 @@ public class ItemServiceImpl implements ItemService {
         BookingShort nextBooking = null;
         BookingShort lastBooking = null;
         if (Objects.equals(item.getOwner().getId(), ownerId)) {
-            nextBooking = bookingRepository
-                    .findNextBooking(itemId)
-                    .stream().findFirst().orElse(null);
-            lastBooking = bookingRepository
-                    .findLastBooking(itemId)
-                    .stream().findFirst().orElse(null);
+            ItemBookingSummary summary = itemBookingSummaryService.findFresh(itemId).orElse(null);
+            if (summary != null) {
+                nextBooking = summary.getNext();
+                lastBooking = summary.getLast();
+            } else {
+                nextBooking = bookingRepository
+                        .findNextBooking(itemId)
+                        .stream().findFirst().orElse(null);
+                lastBooking = bookingRepository
+                        .findLastBooking(itemId)
+                        .stream().findFirst().orElse(null);
+            }
         }
-        List<CommentDtoResponse> comments = commentMapper
-                .toCommentDtoResponse(commentRepository.findByItemId(itemId));
+        List<CommentDtoResponse> comments = commentMapper.toCommentDtoResponse(
+                commentRepository.findLatestByItemId(itemId, PageRequest.of(0, LATEST_COMMENTS)));
         log.info("Get item id={}", itemId);
         return itemMapper.toItemDtoResponse(item, nextBooking, lastBooking, comments);
     }
@@ -89,22 +144,48 @@ public class ItemServiceImpl implements ItemService {
         List<Item> items = itemRepository.findAllByOwnerIdOrderById(ownerId,
                 PageRequest.of(from > 0 ? from / size : 0,  size));
         log.info("Owner id={} requested list of his items", ownerId);
+        if (items.isEmpty()) return new ArrayList<>();
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, BookingShort> nextBookings = new HashMap<>();
+        Map<Long, BookingShort> lastBookings = new HashMap<>();
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaryService.findFresh(itemIds);
+        summaries.forEach((itemId, summary) -> {
+            nextBookings.put(itemId, summary.getNext());
+            lastBookings.put(itemId, summary.getLast());
+        });
+        List<Long> unsummarizedIds = itemIds.stream()
+                .filter(id -> !summaries.containsKey(id))
+                .collect(Collectors.toList());
+        List<ItemBookingShort> unsummarized = unsummarizedIds.isEmpty()
+                ? List.of()
+                : bookingRepository.findNextAndLastBookings(unsummarizedIds);
+        for (ItemBookingShort booking : unsummarized) {
+            BookingShort bookingShort = BookingShortImpl.builder()
+                    .id(booking.getId())
+                    .bookerId(booking.getBookerId())
+                    .start(booking.getStart())
+                    .end(booking.getEnd())
+                    .build();
+            if (Boolean.TRUE.equals(booking.getIsNext())) {
+                nextBookings.put(booking.getItemId(), bookingShort);
+            } else {
+                lastBookings.put(booking.getItemId(), bookingShort);
+            }
+        }
+        Map<Long, List<CommentDtoResponse>> comments = commentRepository
+                .findLatestByItemIdIn(itemIds, LATEST_COMMENTS).stream()
+                .collect(Collectors.groupingBy(ItemCommentShort::getItemId,
+                        Collectors.mapping(commentMapper::toCommentDtoResponse, Collectors.toList())));
+
         return items.stream()
                 .map(i -> itemMapper.toItemDtoResponse(
                         i,
-
-                        bookingRepository
-                                .findNextBooking(i.getId())
-                                .stream().findFirst().orElse(null),
-
-                        bookingRepository
-                                .findLastBooking(i.getId())
-                                .stream().findFirst().orElse(null),
-
-                        commentMapper
-                                .toCommentDtoResponse(commentRepository
-                                        .findByItemId(i.getId()))
-
+                        nextBookings.get(i.getId()),
+                        lastBookings.get(i.getId()),
+                        comments.getOrDefault(i.getId(), new ArrayList<>())
                 )).collect(Collectors.toList());
     }
 
@@ -113,24 +194,54 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemDtoRequest> search(String text, Integer from, Integer size) {
         if (text.equals("")) return new ArrayList<>();
         log.info("search for an item on request '{}'", text);
-        return itemMapper.toItemDtoRequest(itemRepository.search(text,
+        return itemMapper.toItemDtoRequest(itemSearchEngine.search(text,
                 PageRequest.of(from > 0 ? from / size : 0,  size)));
     }
 
     @Override
     @Transactional
     public CommentDtoResponse createComment(Long itemId, Long userId, CommentDtoRequest commentDtoRequest) {
-        User user = userService.checkUserExistentAndGet(userId);
-        Item item = checkItemExistentAndGet(itemId);
+        User user = userService.checkUserExistentAndGetReference(userId);
         if (!bookingRepository.checkIfUserBookedItem(itemId, userId)) {
+            checkItemExistentAndGet(itemId);
             throw new CommentingDeniedException("You didn't book this item.");
         }
+        // locked so that concurrent comments on the same item do not lose an increment of the count
+        Item item = itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new NotFoundException(Item.class, "Id=" + itemId));
+        item.setCommentCount(item.getCommentCount() + 1);
         Comment comment = commentMapper.toComment(commentDtoRequest.getText(), item, user);
         comment.setCreated(LocalDateTime.now());
         commentRepository.save(comment);
         return commentMapper.toCommentDtoResponse(comment);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommentDtoResponse> getComments(Long itemId, String cursor, Integer size) {
+        checkItemExistentAndGet(itemId);
+        PageRequest page = PageRequest.of(0, size);
+        List<Comment> comments;
+        if (cursor == null) {
+            comments = commentRepository.findLatestByItemId(itemId, page);
+        } else {
+            CommentCursor after = CommentCursor.parse(cursor);
+            comments = commentRepository.findPageByItemIdBefore(itemId, after.getCreated(), after.getId(), page);
+        }
+        log.info("Get comments of item id={} after {}", itemId, cursor);
+        return commentMapper.toCommentDtoResponse(comments);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportByOwner(Long ownerId, OutputStream out) throws IOException {
+        userService.checkUserExistent(ownerId);
+        try (Stream<Item> items = itemRepository.streamAllByOwnerId(ownerId)) {
+            long count = ndjsonExporter.export(items, itemMapper::toItemDtoRequest, out);
+            log.info("Owner id = {} exported {} items", ownerId, count);
+        }
+    }
+
     @Override
     public Item checkItemExistentAndGet(Long id) {
         return itemRepository.findById(id)
@@ -143,4 +254,21 @@ public class ItemServiceImpl implements ItemService {
                 .filter(i -> i.getOwner().equals(item.getOwner()))
                 .orElseThrow(() -> new IncorrectOwnerException("You are not allowed to edit this item"));
     }
+
+    /**
+     * A search engine keeping its own index must not pick up items or texts whose transaction is rolled back.
+     */
+    private void indexAfterCommit(List<Item> items) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    items.forEach(itemSearchEngine::index);
+                }
+            });
+        } else {
+            items.forEach(itemSearchEngine::index);
+        }
+    }
+
 }
@@ -0,0 +1,103 @@
+package isthatkirill.shareit.item.summary.model;
+
+import isthatkirill.shareit.booking.model.Booking;
+import isthatkirill.shareit.booking.model.BookingShort;
+import isthatkirill.shareit.booking.model.BookingShortImpl;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Next and last approved booking of an item, copied out of {@code booking} so that item reads do not have to
+ * search for them. "Next" goes stale the moment its start passes, see {@link #isFresh(LocalDateTime)}.
+ */
+@Data
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Builder
+@Table(name = "item_booking_summary")
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemBookingSummary {
+
+    @Id
+    @Column(name = "item_id")
+    Long itemId;
+
+    @Column(name = "next_booking_id")
+    Long nextBookingId;
+
+    @Column(name = "next_booker_id")
+    Long nextBookerId;
+
+    @Column(name = "next_start")
+    LocalDateTime nextStart;
+
+    @Column(name = "next_end")
+    LocalDateTime nextEnd;
+
+    @Column(name = "last_booking_id")
+    Long lastBookingId;
+
+    @Column(name = "last_booker_id")
+    Long lastBookerId;
+
+    @Column(name = "last_start")
+    LocalDateTime lastStart;
+
+    @Column(name = "last_end")
+    LocalDateTime lastEnd;
+
+    public static ItemBookingSummary empty(Long itemId) {
+        return ItemBookingSummary.builder().itemId(itemId).build();
+    }
+
+    public boolean isFresh(LocalDateTime now) {
+        return nextStart == null || nextStart.isAfter(now);
+    }
+
+    public BookingShort getNext() {
+        if (nextBookingId == null) return null;
+        return new BookingShortImpl(nextBookerId, nextStart, nextEnd, nextBookingId);
+    }
+
+    public BookingShort getLast() {
+        if (lastBookingId == null) return null;
+        return new BookingShortImpl(lastBookerId, lastStart, lastEnd, lastBookingId);
+    }
+
+    public void setNext(BookingShort booking) {
+        nextBookingId = booking == null ? null : booking.getId();
+        nextBookerId = booking == null ? null : booking.getBookerId();
+        nextStart = booking == null ? null : booking.getStart();
+        nextEnd = booking == null ? null : booking.getEnd();
+    }
+
+    public void setLast(BookingShort booking) {
+        lastBookingId = booking == null ? null : booking.getId();
+        lastBookerId = booking == null ? null : booking.getBookerId();
+        lastStart = booking == null ? null : booking.getStart();
+        lastEnd = booking == null ? null : booking.getEnd();
+    }
+
+    /**
+     * Takes a newly approved booking into account: it becomes "next" if it starts after {@code now} but before the
+     * current one, and "last" if it has started but after the current one.
+     */
+    public void include(Booking booking, LocalDateTime now) {
+        BookingShort candidate = new BookingShortImpl(booking.getBooker().getId(), booking.getStart(),
+                booking.getEnd(), booking.getId());
+        if (booking.getStart().isAfter(now)) {
+            if (nextStart == null || booking.getStart().isBefore(nextStart)) setNext(candidate);
+        } else if (booking.getStart().isBefore(now)) {
+            if (lastStart == null || booking.getStart().isAfter(lastStart)) setLast(candidate);
+        }
+    }
+
+}
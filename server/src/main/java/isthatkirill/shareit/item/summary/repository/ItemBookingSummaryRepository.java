@@ -0,0 +1,34 @@
+package isthatkirill.shareit.item.summary.repository;
+
+import isthatkirill.shareit.item.summary.model.ItemBookingSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+
+@Repository
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    List<ItemBookingSummary> findAllByItemIdIn(Collection<Long> itemIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT s FROM ItemBookingSummary s WHERE s.itemId = ?1")
+    Optional<ItemBookingSummary> findByIdForUpdate(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemBookingSummary s WHERE s.nextStart <= ?1 ORDER BY s.nextStart")
+    List<ItemBookingSummary> findDueForUpdate(LocalDateTime now, Pageable pageable);
+
+}
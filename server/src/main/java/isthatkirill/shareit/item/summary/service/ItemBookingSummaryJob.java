@@ -0,0 +1,34 @@
+package isthatkirill.shareit.item.summary.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rolls summaries whose next booking has started: that booking becomes the last one and the following approved
+ * booking, if any, becomes the next one. Each batch is its own transaction, so row locks are held briefly.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaryJob {
+
+    static final int BATCH_SIZE = 500;
+
+    private final ItemBookingSummaryService summaryService;
+
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.roll-interval:PT1M}")
+    public void rollDue() {
+        int total = 0;
+        int rolled;
+        do {
+            rolled = summaryService.rollDue(BATCH_SIZE);
+            total += rolled;
+        } while (rolled == BATCH_SIZE);
+        if (total > 0) {
+            log.info("Rolled booking summaries of {} items", total);
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package isthatkirill.shareit.item.summary.service;
+
+import isthatkirill.shareit.booking.model.Booking;
+import isthatkirill.shareit.item.summary.model.ItemBookingSummary;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ItemBookingSummaryService {
+
+    void createEmpty(Collection<Long> itemIds);
+
+    void include(Booking approvedBooking);
+
+    Optional<ItemBookingSummary> findFresh(Long itemId);
+
+    Map<Long, ItemBookingSummary> findFresh(Collection<Long> itemIds);
+
+    int rollDue(int limit);
+
+}
@@ -0,0 +1,86 @@
+package isthatkirill.shareit.item.summary.service;
+
+import isthatkirill.shareit.booking.model.Booking;
+import isthatkirill.shareit.booking.repository.BookingRepository;
+import isthatkirill.shareit.item.summary.model.ItemBookingSummary;
+import isthatkirill.shareit.item.summary.repository.ItemBookingSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one {@link ItemBookingSummary} row per item. Approvals lock the row and fold the booking in; the
+ * scheduled {@link ItemBookingSummaryJob} recomputes rows whose next booking has started. Readers only get fresh
+ * rows and fall back to querying {@code booking} for the rest, e.g. items whose rows have not been rolled yet.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void createEmpty(Collection<Long> itemIds) {
+        itemIds.forEach(itemId -> entityManager.persist(ItemBookingSummary.empty(itemId)));
+    }
+
+    @Override
+    @Transactional
+    public void include(Booking approvedBooking) {
+        LocalDateTime now = LocalDateTime.now();
+        summaryRepository.findByIdForUpdate(approvedBooking.getItem().getId()).ifPresent(summary -> {
+            if (!summary.isFresh(now)) {
+                refresh(summary);
+            }
+            summary.include(approvedBooking, now);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ItemBookingSummary> findFresh(Long itemId) {
+        return summaryRepository.findById(itemId)
+                .filter(summary -> summary.isFresh(LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, ItemBookingSummary> findFresh(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        return summaryRepository.findAllByItemIdIn(itemIds).stream()
+                .filter(summary -> summary.isFresh(now))
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+    }
+
+    @Override
+    @Transactional
+    public int rollDue(int limit) {
+        List<ItemBookingSummary> due = summaryRepository.findDueForUpdate(LocalDateTime.now(),
+                PageRequest.of(0, limit));
+        due.forEach(this::refresh);
+        log.debug("Rolled booking summaries of {} items", due.size());
+        return due.size();
+    }
+
+    private void refresh(ItemBookingSummary summary) {
+        Long itemId = summary.getItemId();
+        summary.setNext(bookingRepository.findNextBooking(itemId).stream().findFirst().orElse(null));
+        summary.setLast(bookingRepository.findLastBooking(itemId).stream().findFirst().orElse(null));
+    }
+
+}
@@ -1,7 +1,9 @@
 package isthatkirill.shareit.request.controller;
 
 import isthatkirill.shareit.request.service.ItemRequestService;
+import isthatkirill.shareit.util.etag.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import isthatkirill.shareit.request.dto.ItemRequestDto;
 import isthatkirill.shareit.request.dto.ItemRequestDtoLong;
@@ -29,14 +31,17 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestDtoLong> getOwn(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemRequestService.getOwn(userId);
+    public List<ItemRequestDtoLong> getOwn(@RequestParam Integer from,
+                                           @RequestParam Integer size,
+                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemRequestService.getOwn(from, size, userId);
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestDtoLong getById(@PathVariable Long requestId,
-                                      @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemRequestService.getById(requestId, userId);
+    public ResponseEntity<ItemRequestDtoLong> getById(@PathVariable Long requestId,
+                                                      @RequestHeader("X-Sharer-User-Id") Long userId) {
+        ItemRequestDtoLong request = itemRequestService.getById(requestId, userId);
+        return ResponseEntity.ok().eTag(ETags.of(request)).body(request);
     }
 
 }
@@ -15,6 +15,7 @@ import java.util.List;
 public class ItemRequestDtoLong {
 
     Long id;
+    Long version;
     String description;
     LocalDateTime created;
     List<ItemDtoRequest> items;
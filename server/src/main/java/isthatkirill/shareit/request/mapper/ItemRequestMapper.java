@@ -1,5 +1,6 @@
 package isthatkirill.shareit.request.mapper;
 
+import isthatkirill.shareit.item.model.Item;
 import isthatkirill.shareit.request.model.ItemRequest;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -14,11 +15,13 @@ public interface ItemRequestMapper {
 
     @Mapping(target = "description", source = "itemRequestDto.description")
     @Mapping(target = "requester", source = "requester")
+    @Mapping(target = "version", ignore = true)
     ItemRequest toItemRequest(User requester, ItemRequestDto itemRequestDto);
 
     @Mapping(target = "items", source = "itemRequest.items")
     ItemRequestDtoLong toItemRequestDtoLong(ItemRequest itemRequest);
 
-    List<ItemRequestDtoLong> toItemRequestDtoLong(List<ItemRequest> itemRequest);
+    @Mapping(target = "items", source = "items")
+    ItemRequestDtoLong toItemRequestDtoLong(ItemRequest itemRequest, List<Item> items);
 
 }
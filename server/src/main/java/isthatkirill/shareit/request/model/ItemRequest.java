@@ -20,9 +20,14 @@ import java.util.List;
 public class ItemRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_requests_seq")
+    @SequenceGenerator(name = "item_requests_seq", sequenceName = "item_requests_seq", allocationSize = 50)
     Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    long version;
+
     @Column(name = "description", nullable = false)
     String description;
 
@@ -12,5 +12,5 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findAllByRequesterIdNotOrderByCreatedDesc(Long userId, Pageable pageable);
 
-    List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(Long userId);
+    List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(Long userId, Pageable pageable);
 }
@@ -11,7 +11,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDtoLong> getAll(Integer from, Integer size, Long userId);
 
-    List<ItemRequestDtoLong> getOwn(Long userId);
+    List<ItemRequestDtoLong> getOwn(Integer from, Integer size, Long userId);
 
     ItemRequestDtoLong getById(Long requestId, Long userId);
 
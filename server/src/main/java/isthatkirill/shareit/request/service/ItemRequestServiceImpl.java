@@ -1,5 +1,7 @@
 package isthatkirill.shareit.request.service;
 
+import isthatkirill.shareit.item.model.Item;
+import isthatkirill.shareit.item.repository.ItemRepository;
 import isthatkirill.shareit.request.dto.ItemRequestDtoLong;
 import isthatkirill.shareit.request.mapper.ItemRequestMapper;
 import isthatkirill.shareit.request.model.ItemRequest;
@@ -13,7 +15,10 @@ import isthatkirill.shareit.request.dto.ItemRequestDto;
 import isthatkirill.shareit.user.service.UserService;
 import isthatkirill.shareit.util.exception.NotFoundException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,6 +28,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestMapper itemRequestMapper;
     private final UserService userService;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
 
     @Override
     @Transactional
@@ -36,29 +42,44 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public List<ItemRequestDtoLong> getAll(Integer from, Integer size, Long userId) {
-        userService.checkUserExistentAndGet(userId);
+        userService.checkUserExistent(userId);
         log.info("User with id={} requested {} items from item {}", userId, size, from);
-        return itemRequestMapper.toItemRequestDtoLong(itemRequestRepository
+        return toItemRequestDtoLong(itemRequestRepository
                 .findAllByRequesterIdNotOrderByCreatedDesc(userId,
                         PageRequest.of(from > 0 ? from / size : 0,  size)));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemRequestDtoLong> getOwn(Long userId) {
-        userService.checkUserExistentAndGet(userId);
+    public List<ItemRequestDtoLong> getOwn(Integer from, Integer size, Long userId) {
+        userService.checkUserExistent(userId);
         log.info("User with id={} requested his item requests list", userId);
-        return itemRequestMapper.toItemRequestDtoLong(itemRequestRepository
-                .findAllByRequesterIdOrderByCreatedDesc(userId));
+        return toItemRequestDtoLong(itemRequestRepository
+                .findAllByRequesterIdOrderByCreatedDesc(userId,
+                        PageRequest.of(from > 0 ? from / size : 0, size)));
     }
 
     @Override
     @Transactional(readOnly = true)
     public ItemRequestDtoLong getById(Long requestId, Long userId) {
-        userService.checkUserExistentAndGet(userId);
+        userService.checkUserExistent(userId);
         return itemRequestMapper.toItemRequestDtoLong(checkItemRequestExistentAndGet(requestId));
     }
 
+    private List<ItemRequestDtoLong> toItemRequestDtoLong(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) return new ArrayList<>();
+
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Item>> items = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(Item::getRequestId));
+
+        return itemRequests.stream()
+                .map(r -> itemRequestMapper.toItemRequestDtoLong(r, items.getOrDefault(r.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
     private ItemRequest checkItemRequestExistentAndGet(Long requestId) {
         return itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException(ItemRequest.class, "Id=" + requestId));
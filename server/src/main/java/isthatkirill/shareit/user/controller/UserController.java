@@ -1,7 +1,11 @@
 package isthatkirill.shareit.user.controller;
 
+import isthatkirill.shareit.util.etag.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import isthatkirill.shareit.user.dto.UserDto;
 import isthatkirill.shareit.user.service.UserService;
 
@@ -12,16 +16,32 @@ import java.util.List;
 @RequestMapping(path = "/users")
 public class UserController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final UserService userService;
 
     @GetMapping
-    public List<UserDto> getAll() {
-        return userService.getAll();
+    public ResponseEntity<List<UserDto>> getAll(@RequestParam Integer from,
+                                                @RequestParam Integer size,
+                                                @RequestParam(required = false) Long after) {
+        List<UserDto> users = userService.getAll(from, size, after);
+        if (users.isEmpty() || users.size() < size) return ResponseEntity.ok(users);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, String.valueOf(users.get(users.size() - 1).getId()))
+                .body(users);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userService::exportAll);
     }
 
     @GetMapping("/{userId}")
-    public UserDto getById(@PathVariable Long userId) {
-        return userService.getById(userId);
+    public ResponseEntity<UserDto> getById(@PathVariable Long userId) {
+        UserDto user = userService.getById(userId);
+        return ResponseEntity.ok().eTag(ETags.of(user)).body(user);
     }
 
     @PostMapping
@@ -11,6 +11,7 @@ import lombok.experimental.FieldDefaults;
 public class UserDto {
 
     Long id;
+    Long version;
     String name;
     String email;
 }
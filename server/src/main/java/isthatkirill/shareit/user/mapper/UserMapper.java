@@ -1,6 +1,7 @@
 package isthatkirill.shareit.user.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import isthatkirill.shareit.user.dto.UserDto;
 import isthatkirill.shareit.user.model.User;
 
@@ -8,6 +9,7 @@ import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface UserMapper {
+    @Mapping(target = "version", ignore = true)
     User toUser(UserDto userDto);
 
     UserDto toUserDto(User user);
@@ -3,6 +3,8 @@ package isthatkirill.shareit.user.service;
 import isthatkirill.shareit.user.dto.UserDto;
 import isthatkirill.shareit.user.model.User;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface UserService {
@@ -13,9 +15,15 @@ public interface UserService {
 
     UserDto getById(Long id);
 
-    List<UserDto> getAll();
+    List<UserDto> getAll(Integer from, Integer size, Long after);
+
+    void exportAll(OutputStream out) throws IOException;
 
     void delete(Long id);
 
     User checkUserExistentAndGet(Long id);
+
+    void checkUserExistent(Long id);
+
+    User checkUserExistentAndGetReference(Long id);
 }
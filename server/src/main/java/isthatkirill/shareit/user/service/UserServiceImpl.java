@@ -1,16 +1,26 @@
 package isthatkirill.shareit.user.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import isthatkirill.shareit.user.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import isthatkirill.shareit.user.dto.UserDto;
 import isthatkirill.shareit.user.model.User;
 import isthatkirill.shareit.user.repository.UserRepository;
 import isthatkirill.shareit.util.exception.NotFoundException;
+import isthatkirill.shareit.util.exception.VersionConflictException;
+import isthatkirill.shareit.util.export.NdjsonExporter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -19,23 +29,30 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final Cache<Long, Boolean> userExistenceCache;
+    private final NdjsonExporter ndjsonExporter;
 
     @Override
     @Transactional
     public UserDto create(UserDto userDto) {
         User user = userMapper.toUser(userDto);
+        user = userRepository.save(user);
+        forgetExistence(user.getId());
         log.info("User created: {}", userDto.getEmail());
-        return userMapper.toUserDto(userRepository.save(user));
+        return userMapper.toUserDto(user);
     }
 
     @Override
     @Transactional
     public UserDto update(UserDto userDto, Long id) {
         User oldUser = checkUserExistentAndGet(id);
+        if (userDto.getVersion() != null && userDto.getVersion() != oldUser.getVersion()) {
+            throw new VersionConflictException(User.class, id, userDto.getVersion(), oldUser.getVersion());
+        }
         if (userDto.getName() != null) oldUser.setName(userDto.getName());
         if (userDto.getEmail() != null) oldUser.setEmail(userDto.getEmail());
         log.info("User updated: {}", id);
-        return userMapper.toUserDto(userRepository.save(oldUser));
+        return userMapper.toUserDto(userRepository.saveAndFlush(oldUser));
     }
 
     @Override
@@ -47,9 +64,23 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserDto> getAll() {
-        log.info("Get all users");
-        return userMapper.toUserDto(userRepository.findAll());
+    public List<UserDto> getAll(Integer from, Integer size, Long after) {
+        log.info("Get all users from = {} size = {} after = {}", from, size, after);
+        if (after != null) {
+            return userMapper.toUserDto(userRepository.findAllByIdGreaterThanOrderByIdAsc(after,
+                    PageRequest.of(0, size)));
+        }
+        Pageable pageable = PageRequest.of(from > 0 ? from / size : 0, size);
+        return userMapper.toUserDto(userRepository.findAllByOrderByIdAsc(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(OutputStream out) throws IOException {
+        try (Stream<User> users = userRepository.streamAll()) {
+            long count = ndjsonExporter.export(users, userMapper::toUserDto, out);
+            log.info("Exported {} users", count);
+        }
     }
 
     @Override
@@ -57,6 +88,7 @@ public class UserServiceImpl implements UserService {
     public void delete(Long id) {
         log.info("Delete user id={}", id);
         userRepository.deleteById(id);
+        forgetExistence(id);
     }
 
     @Override
@@ -65,4 +97,37 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException(User.class, "Id=" + id));
     }
 
+    @Override
+    public void checkUserExistent(Long id) {
+        if (!userExistenceCache.get(id, userRepository::existsById)) {
+            throw new NotFoundException(User.class, "Id=" + id);
+        }
+    }
+
+    /**
+     * @return an uninitialized proxy, for attaching the user to another entity without loading it
+     */
+    @Override
+    public User checkUserExistentAndGetReference(Long id) {
+        checkUserExistent(id);
+        return userRepository.getReferenceById(id);
+    }
+
+    /**
+     * Drops the remembered answer once the change is committed; a check that runs before the commit
+     * would otherwise cache the old answer again.
+     */
+    private void forgetExistence(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userExistenceCache.invalidate(id);
+                }
+            });
+        } else {
+            userExistenceCache.invalidate(id);
+        }
+    }
+
 }
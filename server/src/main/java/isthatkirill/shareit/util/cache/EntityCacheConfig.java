@@ -0,0 +1,74 @@
+package isthatkirill.shareit.util.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import isthatkirill.shareit.item.availability.dto.TimeWindow;
+import isthatkirill.shareit.item.model.Item;
+import isthatkirill.shareit.item.summary.model.ItemBookingSummary;
+import isthatkirill.shareit.user.model.User;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Second-level cache regions for entities that are looked up by id on almost every request.
+ * Hibernate keeps the regions in sync on update and delete; entries also expire after
+ * {@code shareit.cache.entity.expire-after-write} to bound staleness from writes done outside JPA.
+ */
+@Configuration
+@EnableConfigurationProperties({EntityCacheProperties.class, UserExistenceCacheProperties.class,
+        ItemAvailabilityCacheProperties.class})
+public class EntityCacheConfig {
+
+    static final List<String> REGIONS = List.of(User.class.getName(), Item.class.getName(),
+            ItemBookingSummary.class.getName());
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(properties.getMaximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(properties.getExpireAfterWrite().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    /**
+     * Known user ids for checks that only need to know the user exists, not load it.
+     */
+    @Bean
+    public Cache<Long, Boolean> userExistenceCache(UserExistenceCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .build();
+    }
+
+    /**
+     * Merged busy periods per item id, see {@link isthatkirill.shareit.item.availability.service.ItemAvailabilityService}.
+     */
+    @Bean
+    public Cache<Long, List<TimeWindow>> itemBusyCache(ItemAvailabilityCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .build();
+    }
+
+}
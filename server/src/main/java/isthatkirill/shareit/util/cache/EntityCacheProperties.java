@@ -0,0 +1,24 @@
+package isthatkirill.shareit.util.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.cache.entity")
+public class EntityCacheProperties {
+
+    /**
+     * Maximum number of entries kept in each entity region.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long an entry stays cached after it was loaded or updated.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+}
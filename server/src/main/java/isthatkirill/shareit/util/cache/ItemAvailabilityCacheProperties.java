@@ -0,0 +1,24 @@
+package isthatkirill.shareit.util.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.cache.item-availability")
+public class ItemAvailabilityCacheProperties {
+
+    /**
+     * Maximum number of items whose merged busy periods are kept.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Upper bound on staleness when bookings are changed outside the booking service.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+}
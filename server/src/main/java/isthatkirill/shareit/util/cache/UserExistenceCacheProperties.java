@@ -0,0 +1,24 @@
+package isthatkirill.shareit.util.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.cache.user-exists")
+public class UserExistenceCacheProperties {
+
+    /**
+     * Maximum number of user ids whose existence is remembered.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long a positive or negative answer is trusted.
+     */
+    private Duration expireAfterWrite = Duration.ofSeconds(30);
+
+}
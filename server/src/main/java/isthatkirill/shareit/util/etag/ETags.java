@@ -0,0 +1,68 @@
+package isthatkirill.shareit.util.etag;
+
+import isthatkirill.shareit.booking.dto.BookingDtoResponse;
+import isthatkirill.shareit.booking.model.BookingShort;
+import isthatkirill.shareit.item.comment.dto.CommentDtoResponse;
+import isthatkirill.shareit.item.dto.ItemDtoRequest;
+import isthatkirill.shareit.item.dto.ItemDtoResponse;
+import isthatkirill.shareit.request.dto.ItemRequestDtoLong;
+import isthatkirill.shareit.user.dto.UserDto;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong ETags built from the version columns of every entity a response is made of. Parts that have
+ * no version of their own, like which bookings and comments are shown with an item, are added by id.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(UserDto user) {
+        return tag(List.of(user.getId(), user.getVersion()));
+    }
+
+    public static String of(BookingDtoResponse booking) {
+        return tag(List.of(booking.getId(), booking.getVersion(),
+                booking.getItem().getId(), booking.getItem().getVersion(),
+                booking.getBooker().getId(), booking.getBooker().getVersion()));
+    }
+
+    public static String of(ItemDtoResponse item) {
+        List<Object> parts = new ArrayList<>(List.of(item.getId(), item.getVersion()));
+        parts.add(bookingId(item.getLastBooking()));
+        parts.add(bookingId(item.getNextBooking()));
+        parts.add(item.getCommentCount());
+        if (item.getComments() != null) {
+            for (CommentDtoResponse comment : item.getComments()) {
+                parts.add(comment.getId());
+                parts.add(comment.getAuthorName());
+            }
+        }
+        return tag(parts);
+    }
+
+    public static String of(ItemRequestDtoLong request) {
+        List<Object> parts = new ArrayList<>(List.of(request.getId(), request.getVersion()));
+        if (request.getItems() != null) {
+            for (ItemDtoRequest item : request.getItems()) {
+                parts.add(item.getId());
+                parts.add(item.getVersion());
+            }
+        }
+        return tag(parts);
+    }
+
+    private static Long bookingId(BookingShort booking) {
+        return booking != null ? booking.getId() : null;
+    }
+
+    private static String tag(List<?> parts) {
+        return "\"" + DigestUtils.md5DigestAsHex(parts.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+}
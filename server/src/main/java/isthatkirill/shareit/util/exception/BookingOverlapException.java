@@ -0,0 +1,15 @@
+package isthatkirill.shareit.util.exception;
+
+import java.time.LocalDateTime;
+
+public class BookingOverlapException extends RuntimeException {
+
+    public BookingOverlapException(Long itemId, LocalDateTime start, LocalDateTime end) {
+        super("Item id=" + itemId + " is already booked between " + start + " and " + end);
+    }
+
+    public BookingOverlapException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,10 @@
+package isthatkirill.shareit.util.exception;
+
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException(Class<?> entityClass, Long id, long expectedVersion, long currentVersion) {
+        super("Entity " + entityClass.getSimpleName() + " id=" + id + " was modified. Expected version "
+                + expectedVersion + ", current version " + currentVersion);
+    }
+
+}
@@ -0,0 +1,46 @@
+package isthatkirill.shareit.util.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes the rows of a forward-only query stream as NDJSON, one document per line, while the stream is still
+ * being read. Every {@value #CLEAR_EVERY} rows the persistence context is cleared and the output flushed, so
+ * neither loaded entities nor written bytes pile up however many rows there are. Must run inside the
+ * transaction that opened the stream.
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonExporter {
+
+    static final int CLEAR_EVERY = 500;
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public <E, D> long export(Stream<E> rows, Function<E, D> mapper, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer();
+        long count = 0;
+        Iterator<E> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            out.write(writer.writeValueAsBytes(mapper.apply(iterator.next())));
+            out.write('\n');
+            if (++count % CLEAR_EVERY == 0) {
+                entityManager.clear();
+                out.flush();
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+}
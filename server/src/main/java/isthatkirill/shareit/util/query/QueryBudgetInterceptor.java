@@ -0,0 +1,80 @@
+package isthatkirill.shareit.util.query;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tags the statements of a request with the controller method handling it. When the request completes,
+ * records their count and total time as {@code shareit.sql.statements} and {@code shareit.sql.time}
+ * and logs a warning if the count is over the budget.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    static final String STATEMENTS_METRIC = "shareit.sql.statements";
+    static final String TIME_METRIC = "shareit.sql.time";
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the async dispatch only writes out a result, the statements were recorded when the request started
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            QueryStats.start(endpoint((HandlerMethod) handler));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        finish(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        finish(request);
+    }
+
+    private void finish(HttpServletRequest request) {
+        QueryStats stats = QueryStats.finish();
+        if (stats == null) return;
+
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements run by one request")
+                .tag("endpoint", stats.getEndpoint())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getCount());
+        Timer.builder(TIME_METRIC)
+                .description("Time one request spent executing SQL statements")
+                .tag("endpoint", stats.getEndpoint())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getCount() > budget) {
+            log.warn("{} {} ({}) ran {} SQL statements in {} ms, over the budget of {}", request.getMethod(),
+                    request.getRequestURI(), stats.getEndpoint(), stats.getCount(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getNanos()), budget);
+        }
+    }
+
+    private static String endpoint(HandlerMethod handler) {
+        return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+    }
+
+}
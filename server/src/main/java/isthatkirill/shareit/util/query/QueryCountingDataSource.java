@@ -0,0 +1,77 @@
+package isthatkirill.shareit.util.query;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times every statement executed through the wrapped data source and adds it to the {@link QueryStats}
+ * of the current request. This sees JPA, JdbcTemplate and native queries alike; a batch counts as one statement.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection(), QueryCountingDataSource::invokeOnConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password),
+                QueryCountingDataSource::invokeOnConnection);
+    }
+
+    private static Object invokeOnConnection(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+            return wrap(method.getReturnType(), result, QueryCountingDataSource::invokeOnStatement);
+        }
+        return result;
+    }
+
+    private static Object invokeOnStatement(Object target, Method method, Object[] args) throws Throwable {
+        if (!method.getName().startsWith("execute")) {
+            return invoke(target, method, args);
+        }
+        long start = System.nanoTime();
+        try {
+            return invoke(target, method, args);
+        } finally {
+            QueryStats.record(System.nanoTime() - start);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, Object target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> interceptor.invoke(target, method, args);
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                handler);
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+
+    }
+
+}
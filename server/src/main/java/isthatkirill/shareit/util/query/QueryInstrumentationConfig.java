@@ -0,0 +1,53 @@
+package isthatkirill.shareit.util.query;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-endpoint SQL statement counts and time, exposed through {@code /actuator/metrics}.
+ * Meant to catch N+1 regressions: a request over {@code shareit.query.budget} statements is logged.
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(QueryInstrumentationProperties.class)
+@ConditionalOnProperty(name = "shareit.query.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentationConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryInstrumentationProperties properties;
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+
+        };
+    }
+
+    @Bean
+    public QueryBudgetInterceptor queryBudgetInterceptor() {
+        return new QueryBudgetInterceptor(meterRegistry, properties.getBudget());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor());
+    }
+
+}
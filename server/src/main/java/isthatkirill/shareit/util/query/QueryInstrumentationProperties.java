@@ -0,0 +1,17 @@
+package isthatkirill.shareit.util.query;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.query")
+public class QueryInstrumentationProperties {
+
+    /**
+     * Statements one request may run before a warning is logged.
+     */
+    private int budget = 20;
+
+}
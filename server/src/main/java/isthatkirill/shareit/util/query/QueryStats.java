@@ -0,0 +1,40 @@
+package isthatkirill.shareit.util.query;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Statements run while one controller method handles a request. Collected on the request thread,
+ * so work handed to another thread (a streamed export body) is not counted.
+ */
+@Getter
+@RequiredArgsConstructor
+public class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private int count;
+    private long nanos;
+
+    static void start(String endpoint) {
+        CURRENT.set(new QueryStats(endpoint));
+    }
+
+    @Nullable
+    static QueryStats finish() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void record(long nanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.count++;
+            stats.nanos += nanos;
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+-- Next and last approved booking of every item, written when a booking is approved and rolled forward by
+-- ItemBookingSummaryJob once the next booking has started, so an item read fetches one row by primary key.
+create table if not exists item_booking_summary
+(
+    item_id BIGINT PRIMARY KEY NOT NULL,
+    next_booking_id BIGINT,
+    next_booker_id BIGINT,
+    next_start TIMESTAMP,
+    next_end TIMESTAMP,
+    last_booking_id BIGINT,
+    last_booker_id BIGINT,
+    last_start TIMESTAMP,
+    last_end TIMESTAMP,
+    FOREIGN KEY (item_id) REFERENCES items (id)
+);
+
+-- ItemBookingSummaryRepository.findDueForUpdate
+create index if not exists idx_item_booking_summary_next_start on item_booking_summary (next_start);
+
+insert into item_booking_summary (item_id, next_booking_id, last_booking_id)
+select i.id,
+       (select b.id from booking b
+        where b.item_id = i.id and b.status = 'APPROVED' and b.start_date > NOW()
+        order by b.start_date limit 1),
+       (select b.id from booking b
+        where b.item_id = i.id and b.status = 'APPROVED' and b.start_date < NOW()
+        order by b.start_date desc limit 1)
+from items i;
+
+update item_booking_summary s set
+    next_booker_id = (select b.booker_id from booking b where b.id = s.next_booking_id),
+    next_start = (select b.start_date from booking b where b.id = s.next_booking_id),
+    next_end = (select b.end_date from booking b where b.id = s.next_booking_id),
+    last_booker_id = (select b.booker_id from booking b where b.id = s.last_booking_id),
+    last_start = (select b.start_date from booking b where b.id = s.last_booking_id),
+    last_end = (select b.end_date from booking b where b.id = s.last_booking_id);
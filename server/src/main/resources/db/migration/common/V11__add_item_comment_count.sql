@@ -0,0 +1,7 @@
+-- Number of comments of an item, bumped by ItemService.createComment so item reads do not count them
+alter table items add column comment_count INTEGER DEFAULT 0 NOT NULL;
+update items i set comment_count = (select count(*) from comments c where c.item_id = i.id);
+
+-- CommentRepository.findLatestByItemId, findLatestByItemIdIn, findPageByItemIdBefore
+drop index if exists idx_comments_item_id;
+create index if not exists idx_comments_item_created_id on comments (item_id, created DESC, id DESC);
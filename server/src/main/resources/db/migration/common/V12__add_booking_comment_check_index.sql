@@ -0,0 +1,2 @@
+-- BookingRepository.checkIfUserBookedItem stops at the first approved booking of the item by the user that has ended
+create index if not exists idx_booking_item_booker_status_end on booking (item_id, booker_id, status, end_date);
@@ -1,5 +1,3 @@
-drop table if exists users, items, booking, comments, item_requests;
-
 create table if not exists users
 (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
@@ -0,0 +1,17 @@
+-- ItemRepository.findAllByOwnerIdOrderById, BookingRepository.find*BookingsByOwner (join on owner)
+create index if not exists idx_items_owner_id on items (owner_id, id);
+
+-- ItemRequest.items
+create index if not exists idx_items_request_id on items (request_id);
+
+-- ItemRequestRepository.findAllByRequesterIdOrderByCreatedDesc
+create index if not exists idx_item_requests_requester_created on item_requests (requester_id, created DESC);
+
+-- BookingRepository.findAllByBookerIdOrderByStartDesc, find{Future,Past,Current}BookingsByBooker
+create index if not exists idx_booking_booker_start on booking (booker_id, start_date DESC);
+
+-- BookingRepository.find*BookingsByOwner (per item of the owner)
+create index if not exists idx_booking_item_start on booking (item_id, start_date DESC);
+
+-- CommentRepository.findByItemId, CommentRepository.findAllByItemIdIn
+create index if not exists idx_comments_item_id on comments (item_id);
@@ -0,0 +1,6 @@
+-- Booking lists are ordered by (start_date DESC, id DESC) and paged by seeking past the last (start_date, id)
+drop index if exists idx_booking_booker_start;
+create index if not exists idx_booking_booker_start_id on booking (booker_id, start_date DESC, id DESC);
+
+drop index if exists idx_booking_item_start;
+create index if not exists idx_booking_item_start_id on booking (item_id, start_date DESC, id DESC);
@@ -0,0 +1,5 @@
+-- Optimistic locking: every update bumps the row version, which also feeds the ETags of GET responses
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE item_requests ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE items ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE booking ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,8 @@
+-- H2 has no partial or covering indexes, so the status goes into the key instead.
+
+-- BookingRepository.find{Waiting,Rejected}BookingsByBooker
+create index if not exists idx_booking_booker_status on booking (booker_id, status, start_date DESC);
+
+-- BookingRepository.find{Waiting,Rejected}BookingsByOwner, findNextBooking, findLastBooking,
+-- findNextAndLastBookings
+create index if not exists idx_booking_item_status on booking (item_id, status, start_date);
@@ -0,0 +1,21 @@
+-- H2 only runs the test suite, whose fixtures expect consecutive ids, so these sequences step by 1 and
+-- hibernate.id.sequence.increment_size_mismatch_strategy=fix makes Hibernate follow them.
+alter table users alter column id drop identity;
+create sequence if not exists users_seq start with 1 increment by 1;
+alter table users alter column id set default next value for users_seq;
+
+alter table item_requests alter column id drop identity;
+create sequence if not exists item_requests_seq start with 1 increment by 1;
+alter table item_requests alter column id set default next value for item_requests_seq;
+
+alter table items alter column id drop identity;
+create sequence if not exists items_seq start with 1 increment by 1;
+alter table items alter column id set default next value for items_seq;
+
+alter table booking alter column id drop identity;
+create sequence if not exists booking_seq start with 1 increment by 1;
+alter table booking alter column id set default next value for booking_seq;
+
+alter table comments alter column id drop identity;
+create sequence if not exists comments_seq start with 1 increment by 1;
+alter table comments alter column id set default next value for comments_seq;
@@ -0,0 +1,16 @@
+-- BookingRepository.find{Waiting,Rejected}BookingsByBooker
+create index if not exists idx_booking_booker_waiting on booking (booker_id, start_date DESC)
+    where status = 'WAITING';
+create index if not exists idx_booking_booker_rejected on booking (booker_id, start_date DESC)
+    where status = 'REJECTED';
+
+-- BookingRepository.find{Waiting,Rejected}BookingsByOwner
+create index if not exists idx_booking_item_waiting on booking (item_id, start_date DESC)
+    where status = 'WAITING';
+create index if not exists idx_booking_item_rejected on booking (item_id, start_date DESC)
+    where status = 'REJECTED';
+
+-- BookingRepository.findNextBooking, findLastBooking, findNextAndLastBookings (index-only scan)
+create index if not exists idx_booking_item_approved on booking (item_id, start_date)
+    include (booker_id, end_date)
+    where status = 'APPROVED';
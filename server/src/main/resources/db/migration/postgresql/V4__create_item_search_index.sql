@@ -0,0 +1,8 @@
+-- PostgresItemSearchEngine: ranked full-text search over name (weight A) and description (weight B)
+alter table items add column if not exists search_vector tsvector
+    generated always as (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) stored;
+
+create index if not exists idx_items_search_vector on items using gin (search_vector);
@@ -0,0 +1,28 @@
+-- Approved bookings of one item could overlap before V7, which cannot add its exclusion constraint while they do.
+-- Each item's approved bookings are walked by (start_date, id): one is kept if it starts at or after the end of the
+-- last kept one, otherwise it is rejected. The outcome does not depend on row order; rejected ids are logged.
+do $$
+declare
+    b record;
+    kept_item bigint;
+    kept_end timestamp;
+    rejected bigint[] := '{}';
+begin
+    for b in select id, item_id, start_date, end_date
+             from booking
+             where status = 'APPROVED'
+             order by item_id, start_date, id
+    loop
+        if b.item_id is distinct from kept_item or b.start_date >= kept_end then
+            kept_item := b.item_id;
+            kept_end := b.end_date;
+        else
+            rejected := rejected || b.id;
+        end if;
+    end loop;
+
+    if cardinality(rejected) > 0 then
+        update booking set status = 'REJECTED', version = version + 1 where id = any (rejected);
+        raise notice 'Rejected % overlapping approved bookings: %', cardinality(rejected), rejected;
+    end if;
+end $$;
@@ -0,0 +1,6 @@
+-- PostgresBookingOverlapGuard: approved bookings of one item must not overlap; [start, end) periods
+create extension if not exists btree_gist;
+
+alter table booking add constraint booking_approved_no_overlap
+    exclude using gist (item_id with =, tsrange(start_date, end_date) with &&)
+    where (status = 'APPROVED');
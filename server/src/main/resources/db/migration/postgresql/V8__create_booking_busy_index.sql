@@ -0,0 +1,4 @@
+-- ItemAvailabilityService via BookingRepository.findPeriodsByItemIdAndStatusIn (index-only scan)
+create index if not exists idx_booking_item_busy on booking (item_id, start_date)
+    include (end_date)
+    where status in ('APPROVED', 'WAITING');
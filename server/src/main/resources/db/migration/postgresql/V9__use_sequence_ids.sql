@@ -0,0 +1,26 @@
+-- Ids come from sequences handed out in blocks of 50 (pooled-lo), so Hibernate can batch inserts.
+-- Each sequence starts after the current maximum id; plain SQL inserts keep working through the default.
+alter table users alter column id drop identity;
+create sequence if not exists users_seq increment by 50 owned by users.id;
+select setval('users_seq', coalesce((select max(id) from users), 0) + 1, false);
+alter table users alter column id set default nextval('users_seq');
+
+alter table item_requests alter column id drop identity;
+create sequence if not exists item_requests_seq increment by 50 owned by item_requests.id;
+select setval('item_requests_seq', coalesce((select max(id) from item_requests), 0) + 1, false);
+alter table item_requests alter column id set default nextval('item_requests_seq');
+
+alter table items alter column id drop identity;
+create sequence if not exists items_seq increment by 50 owned by items.id;
+select setval('items_seq', coalesce((select max(id) from items), 0) + 1, false);
+alter table items alter column id set default nextval('items_seq');
+
+alter table booking alter column id drop identity;
+create sequence if not exists booking_seq increment by 50 owned by booking.id;
+select setval('booking_seq', coalesce((select max(id) from booking), 0) + 1, false);
+alter table booking alter column id set default nextval('booking_seq');
+
+alter table comments alter column id drop identity;
+create sequence if not exists comments_seq increment by 50 owned by comments.id;
+select setval('comments_seq', coalesce((select max(id) from comments), 0) + 1, false);
+alter table comments alter column id set default nextval('comments_seq');
@@ -0,0 +1,69 @@
+package isthatkirill.shareit.booking.overlap;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void halfOpenPeriodsTest() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(hour(10), hour(12), 1L);
+
+        assertThat(tree.overlaps(hour(8), hour(10))).isFalse();
+        assertThat(tree.overlaps(hour(12), hour(14))).isFalse();
+        assertThat(tree.overlaps(hour(11), hour(13))).isTrue();
+        assertThat(tree.overlaps(hour(9), hour(15))).isTrue();
+        assertThat(tree.overlaps(hour(10), hour(11))).isTrue();
+    }
+
+    @Test
+    void removeTest() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(hour(10), hour(12), 1L);
+        tree.add(hour(10), hour(11), 2L);
+
+        assertThat(tree.remove(hour(10), 1L)).isTrue();
+        assertThat(tree.remove(hour(10), 1L)).isFalse();
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.overlaps(hour(11), hour(12))).isFalse();
+        assertThat(tree.overlaps(hour(10), hour(11))).isTrue();
+    }
+
+    @Test
+    void matchesBruteForceTest() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<long[]> periods = new ArrayList<>();
+
+        for (long id = 0; id < 2000; id++) {
+            long start = random.nextInt(10000);
+            long end = start + 1 + random.nextInt(50);
+            if (random.nextInt(4) == 0 && !periods.isEmpty()) {
+                long[] removed = periods.remove(random.nextInt(periods.size()));
+                assertThat(tree.remove(hour(removed[0]), removed[2])).isTrue();
+            }
+            tree.add(hour(start), hour(end), id);
+            periods.add(new long[]{start, end, id});
+
+            long from = random.nextInt(10000);
+            long to = from + 1 + random.nextInt(100);
+            boolean expected = periods.stream().anyMatch(p -> p[0] < to && from < p[1]);
+            assertThat(tree.overlaps(hour(from), hour(to))).isEqualTo(expected);
+        }
+        assertThat(tree.size()).isEqualTo(periods.size());
+    }
+
+    private static LocalDateTime hour(long hours) {
+        return BASE.plusHours(hours);
+    }
+
+}
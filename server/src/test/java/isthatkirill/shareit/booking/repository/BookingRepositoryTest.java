@@ -1,29 +1,42 @@
 package isthatkirill.shareit.booking.repository;
 
+import isthatkirill.shareit.booking.dto.BookingCursor;
 import isthatkirill.shareit.booking.model.Booking;
+import isthatkirill.shareit.booking.model.BookingRole;
+import isthatkirill.shareit.booking.model.BookingState;
 import isthatkirill.shareit.booking.model.BookingShort;
+import isthatkirill.shareit.booking.model.ItemBookingShort;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Sql(value = {"/test-schema.sql", "/test-users-extended.sql", "/test-items-extended.sql", "/test-bookings-extended.sql"})
 class BookingRepositoryTest {
 
     @Autowired
     private BookingRepository bookingRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
     private final Pageable pageable = PageRequest.of(0, 10);
 
     @Test
-    void findAllByBookerIdOrderByStartDescTest() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(6L, pageable);
+    void findAllBookingsByBookerTest() {
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.BOOKER, 6L, BookingState.ALL), pageable);
 
         assertThat(bookings).hasSize(3)
                 .extracting(Booking::getId)
@@ -32,7 +45,7 @@ class BookingRepositoryTest {
 
     @Test
     void findFutureBookingsByBookerTest() {
-        List<Booking> bookings = bookingRepository.findFutureBookingsByBooker(3L, pageable);
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.BOOKER, 3L, BookingState.FUTURE), pageable);
 
         assertThat(bookings).hasSize(1)
                 .extracting(Booking::getId)
@@ -41,7 +54,7 @@ class BookingRepositoryTest {
 
     @Test
     void findPastBookingsByBookerTest() {
-        List<Booking> bookings = bookingRepository.findPastBookingsByBooker(3L, pageable);
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.BOOKER, 3L, BookingState.PAST), pageable);
 
         assertThat(bookings).hasSize(1)
                 .extracting(Booking::getId)
@@ -50,7 +63,7 @@ class BookingRepositoryTest {
 
     @Test
     void findCurrentBookingsByBookerTest() {
-        List<Booking> bookings = bookingRepository.findCurrentBookingsByBooker(5L, pageable);
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.BOOKER, 5L, BookingState.CURRENT), pageable);
 
         assertThat(bookings).hasSize(2)
                 .extracting(Booking::getId)
@@ -59,7 +72,7 @@ class BookingRepositoryTest {
 
     @Test
     void findWaitingBookingsByBookerTest() {
-        List<Booking> bookings = bookingRepository.findWaitingBookingsByBooker(4L, pageable);
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.BOOKER, 4L, BookingState.WAITING), pageable);
 
         assertThat(bookings).hasSize(2)
                 .extracting(Booking::getId)
@@ -68,7 +81,7 @@ class BookingRepositoryTest {
 
     @Test
     void findRejectedBookingsByBookerTest() {
-        List<Booking> bookings = bookingRepository.findRejectedBookingsByBooker(6L, pageable);
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.BOOKER, 6L, BookingState.REJECTED), pageable);
 
         assertThat(bookings).hasSize(1)
                 .extracting(Booking::getId)
@@ -77,7 +90,7 @@ class BookingRepositoryTest {
 
     @Test
     void findFutureBookingsByOwnerTest() {
-        List<Booking> bookings = bookingRepository.findFutureBookingsByOwner(1L, pageable);
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.OWNER, 1L, BookingState.FUTURE), pageable);
 
         assertThat(bookings).hasSize(3)
                 .extracting(Booking::getId)
@@ -86,7 +99,7 @@ class BookingRepositoryTest {
 
     @Test
     void findPastBookingsByOwnerTest() {
-        List<Booking> bookings = bookingRepository.findPastBookingsByOwner(1L, pageable);
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.OWNER, 1L, BookingState.PAST), pageable);
 
         assertThat(bookings).hasSize(1)
                 .extracting(Booking::getId)
@@ -95,14 +108,14 @@ class BookingRepositoryTest {
 
     @Test
     void findCurrentBookingsByOwnerTest() {
-        List<Booking> bookings = bookingRepository.findCurrentBookingsByOwner(6L, pageable);
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.OWNER, 6L, BookingState.CURRENT), pageable);
 
         assertThat(bookings).isEmpty();
     }
 
     @Test
     void findWaitingBookingsByOwnerTest() {
-        List<Booking> bookings = bookingRepository.findWaitingBookingsByOwner(2L, pageable);
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.OWNER, 2L, BookingState.WAITING), pageable);
 
         assertThat(bookings).hasSize(1)
                 .extracting(Booking::getId)
@@ -111,7 +124,7 @@ class BookingRepositoryTest {
 
     @Test
     void findRejectedBookingsByOwnerTest() {
-        List<Booking> bookings = bookingRepository.findRejectedBookingsByOwner(2L, pageable);
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.OWNER, 2L, BookingState.REJECTED), pageable);
 
         assertThat(bookings).hasSize(1)
                 .extracting(Booking::getId)
@@ -120,7 +133,7 @@ class BookingRepositoryTest {
 
     @Test
     void findAllBookingsByOwnerTest() {
-        List<Booking> bookings = bookingRepository.findAllBookingsByOwner(1L, pageable);
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.OWNER, 1L, BookingState.ALL), pageable);
 
         assertThat(bookings).hasSize(6);
     }
@@ -143,8 +156,104 @@ class BookingRepositoryTest {
                 .containsExactly(4L);
     }
 
+    @Test
+    void findAllByFilterAfterCursorTest() {
+        List<Booking> firstPage = bookingRepository.findAllByFilter(
+                filter(BookingRole.OWNER, 1L, BookingState.ALL), PageRequest.of(0, 4));
+        Booking last = firstPage.get(firstPage.size() - 1);
+        BookingFilter afterLast = BookingFilter.builder()
+                .userId(1L)
+                .role(BookingRole.OWNER)
+                .state(BookingState.ALL)
+                .now(LocalDateTime.now())
+                .after(new BookingCursor(last.getStart(), last.getId()))
+                .build();
+        List<Booking> secondPage = bookingRepository.findAllByFilter(afterLast, PageRequest.of(0, 4));
+
+        assertThat(firstPage)
+                .extracting(Booking::getId)
+                .containsExactly(4L, 1L, 2L, 9L);
+        assertThat(secondPage)
+                .extracting(Booking::getId)
+                .containsExactly(10L, 3L);
+    }
+
+    @Test
+    void findNextAndLastBookingsTest() {
+        List<ItemBookingShort> bookings = bookingRepository.findNextAndLastBookings(List.of(1L, 2L, 5L, 6L));
+
+        assertThat(bookings).hasSize(4)
+                .extracting(ItemBookingShort::getItemId, ItemBookingShort::getId, ItemBookingShort::getIsNext)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, 3L, false),
+                        tuple(1L, 4L, true),
+                        tuple(5L, 7L, true),
+                        tuple(6L, 5L, false));
+    }
+
     @Test
     void checkIfUserBookedItemTest() {
         assertThat(bookingRepository.checkIfUserBookedItem(6L, 3L)).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkIfUserBookedItemNotEndedTest() {
+        assertThat(bookingRepository.checkIfUserBookedItem(1L, 3L)).isFalse();
+    }
+
+    @Test
+    void findAllByFilterFetchesAssociationsTest() {
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.OWNER, 1L, BookingState.ALL), pageable);
+
+        assertThat(bookings).isNotEmpty()
+                .allSatisfy(b -> {
+                    assertThat(Hibernate.isInitialized(b.getItem())).isTrue();
+                    assertThat(Hibernate.isInitialized(b.getItem().getOwner())).isTrue();
+                    assertThat(Hibernate.isInitialized(b.getBooker())).isTrue();
+                });
+    }
+
+    @Test
+    void findAllByFilterPageIsOneStatementTest() {
+        Statistics statistics = statistics();
+
+        List<Booking> bookings = bookingRepository.findAllByFilter(filter(BookingRole.OWNER, 1L, BookingState.ALL), pageable);
+        bookings.forEach(b -> {
+            b.getItem().getName();
+            b.getItem().getOwner().getName();
+            b.getBooker().getName();
+        });
+
+        assertThat(bookings).hasSize(6);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByIdIsOneStatementTest() {
+        Statistics statistics = statistics();
+
+        Booking booking = bookingRepository.findById(1L).orElseThrow();
+        booking.getItem().getOwner().getName();
+        booking.getBooker().getName();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Statistics statistics() {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private BookingFilter filter(BookingRole role, Long userId, BookingState state) {
+        return BookingFilter.builder()
+                .userId(userId)
+                .role(role)
+                .state(state)
+                .now(LocalDateTime.now())
+                .build();
+    }
+
+}
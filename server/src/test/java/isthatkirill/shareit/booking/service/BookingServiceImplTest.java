@@ -1,22 +1,34 @@
 package isthatkirill.shareit.booking.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoRequest;
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoResponse;
 import isthatkirill.shareit.booking.dto.BookingDtoRequest;
 import isthatkirill.shareit.booking.dto.BookingDtoResponse;
 import isthatkirill.shareit.booking.model.Status;
 import isthatkirill.shareit.user.service.UserService;
 import isthatkirill.shareit.util.exception.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.util.exception.*;
+import isthatkirill.shareit.util.exception.*;
 
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -31,6 +43,15 @@ class BookingServiceImplTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     @Order(1)
     @Sql(value = {"/test-schema.sql", "/test-users-extended.sql", "/test-items-extended.sql"})
@@ -150,29 +171,29 @@ class BookingServiceImplTest {
         Long bookerId = 6L;
         int from = 0, size = 1;
 
-        List<BookingDtoResponse> bookings = bookingService.getByBookerId(bookerId, "ALL", from, size);
+        List<BookingDtoResponse> bookings = bookingService.getByBookerId(bookerId, "ALL", from, size, null);
         assertThat(bookings).hasSize(1);
 
         size = 10;
-        bookings = bookingService.getByBookerId(bookerId, "ALL", from, size);
+        bookings = bookingService.getByBookerId(bookerId, "ALL", from, size, null);
         assertThat(bookings).hasSize(3);
 
-        bookings = bookingService.getByBookerId(bookerId, "REJECTED", from, size);
+        bookings = bookingService.getByBookerId(bookerId, "REJECTED", from, size, null);
         assertThat(bookings).hasSize(1);
 
-        bookings = bookingService.getByBookerId(bookerId, "WAITING", from, size);
+        bookings = bookingService.getByBookerId(bookerId, "WAITING", from, size, null);
         assertThat(bookings).isEmpty();
 
-        bookings = bookingService.getByBookerId(bookerId, "CURRENT", from, size);
+        bookings = bookingService.getByBookerId(bookerId, "CURRENT", from, size, null);
         assertThat(bookings).isEmpty();
 
-        bookings = bookingService.getByBookerId(bookerId, "PAST", from, size);
+        bookings = bookingService.getByBookerId(bookerId, "PAST", from, size, null);
         assertThat(bookings).isEmpty();
 
-        bookings = bookingService.getByBookerId(bookerId, "FUTURE", from, size);
+        bookings = bookingService.getByBookerId(bookerId, "FUTURE", from, size, null);
         assertThat(bookings).hasSize(3);
 
-        Throwable e = assertThrows(UnsupportedStatusException.class, () -> bookingService.getByBookerId(bookerId, "INVALID", 0, 10));
+        Throwable e = assertThrows(UnsupportedStatusException.class, () -> bookingService.getByBookerId(bookerId, "INVALID", 0, 10, null));
 
         assertThat(e).hasMessage("Unknown state: INVALID");
     }
@@ -183,31 +204,174 @@ class BookingServiceImplTest {
         Long ownerId = 1L;
         int from = 0, size = 1;
 
-        List<BookingDtoResponse> bookings = bookingService.getByOwnerId(ownerId, "ALL", from, size);
+        List<BookingDtoResponse> bookings = bookingService.getByOwnerId(ownerId, "ALL", from, size, null);
         assertThat(bookings).hasSize(1);
 
         size = 10;
-        bookings = bookingService.getByOwnerId(ownerId, "ALL", from, size);
+        bookings = bookingService.getByOwnerId(ownerId, "ALL", from, size, null);
         assertThat(bookings).hasSize(7);
 
-        bookings = bookingService.getByOwnerId(ownerId, "REJECTED", from, size);
+        bookings = bookingService.getByOwnerId(ownerId, "REJECTED", from, size, null);
         assertThat(bookings).isEmpty();
 
-        bookings = bookingService.getByOwnerId(ownerId, "WAITING", from, size);
+        bookings = bookingService.getByOwnerId(ownerId, "WAITING", from, size, null);
         assertThat(bookings).hasSize(3);
 
-        bookings = bookingService.getByOwnerId(ownerId, "CURRENT", from, size);
+        bookings = bookingService.getByOwnerId(ownerId, "CURRENT", from, size, null);
         assertThat(bookings).hasSize(2);
 
-        bookings = bookingService.getByOwnerId(ownerId, "PAST", from, size);
+        bookings = bookingService.getByOwnerId(ownerId, "PAST", from, size, null);
         assertThat(bookings).hasSize(1);
 
-        bookings = bookingService.getByOwnerId(ownerId, "FUTURE", from, size);
+        bookings = bookingService.getByOwnerId(ownerId, "FUTURE", from, size, null);
         assertThat(bookings).hasSize(4);
 
-        Throwable e = assertThrows(UnsupportedStatusException.class, () -> bookingService.getByOwnerId(ownerId, "INVALID", 0, 10));
+        Throwable e = assertThrows(UnsupportedStatusException.class, () -> bookingService.getByOwnerId(ownerId, "INVALID", 0, 10, null));
 
         assertThat(e).hasMessage("Unknown state: INVALID");
     }
 
-}
\ No newline at end of file
+    @Test
+    @Order(13)
+    void getByOwnerIdAfterCursorTest() {
+        Long ownerId = 1L;
+
+        List<BookingDtoResponse> firstPage = bookingService.getByOwnerId(ownerId, "ALL", 0, 4, null);
+        BookingDtoResponse last = firstPage.get(firstPage.size() - 1);
+        List<BookingDtoResponse> secondPage = bookingService.getByOwnerId(ownerId, "ALL", 0, 4,
+                last.getStart() + "," + last.getId());
+
+        assertThat(firstPage).hasSize(4);
+        assertThat(secondPage).hasSize(3)
+                .extracting(BookingDtoResponse::getId)
+                .doesNotContainAnyElementsOf(firstPage.stream().map(BookingDtoResponse::getId).collect(Collectors.toList()));
+
+        Throwable e = assertThrows(IllegalArgumentException.class, () -> bookingService.getByOwnerId(ownerId, "ALL", 0, 4, "15"));
+
+        assertThat(e).hasMessage("Cursor must look like <start>,<id>: 15");
+    }
+
+    @Test
+    @Order(14)
+    void createOverlappingApprovedTest() {
+        BookingDtoResponse approved = bookingService.getById(1L, 1L);
+        BookingDtoRequest bookingDtoRequest = BookingDtoRequest.builder()
+                .itemId(2L)
+                .start(approved.getStart().plusHours(1))
+                .end(approved.getEnd().plusDays(1))
+                .build();
+
+        Throwable e = assertThrows(BookingOverlapException.class, () -> bookingService.create(bookingDtoRequest, 3L));
+
+        assertThat(e).hasMessageStartingWith("Item id=2 is already booked between");
+    }
+
+    @Test
+    @Order(15)
+    void approveOverlappingTest() {
+        Throwable e = assertThrows(BookingOverlapException.class, () -> bookingService.approve(1L, 3L, true));
+
+        assertThat(e).hasMessageStartingWith("Item id=2 is already booked between");
+        assertThat(bookingService.getById(3L, 1L))
+                .hasFieldOrPropertyWithValue("status", Status.WAITING);
+    }
+
+    @Test
+    @Order(16)
+    void approveAdjacentTest() {
+        BookingDtoResponse approved = bookingService.getById(1L, 1L);
+        BookingDtoRequest bookingDtoRequest = BookingDtoRequest.builder()
+                .itemId(2L)
+                .start(approved.getEnd())
+                .end(approved.getEnd().plusDays(1))
+                .build();
+
+        BookingDtoResponse created = bookingService.create(bookingDtoRequest, 3L);
+        BookingDtoResponse bookingDtoResponse = bookingService.approve(1L, created.getId(), true);
+
+        assertThat(bookingDtoResponse).isNotNull()
+                .hasFieldOrPropertyWithValue("status", Status.APPROVED);
+    }
+
+    @Test
+    @Order(17)
+    void approveAllTest() {
+        List<BookingApprovalDtoRequest> approvals = List.of(
+                new BookingApprovalDtoRequest(2L, true),
+                new BookingApprovalDtoRequest(3L, true),
+                new BookingApprovalDtoRequest(12L, true),
+                new BookingApprovalDtoRequest(100L, false),
+                new BookingApprovalDtoRequest(2L, false),
+                new BookingApprovalDtoRequest(10L, false));
+
+        List<BookingApprovalDtoResponse> results = bookingService.approveAll(1L, approvals);
+
+        assertThat(results).extracting(BookingApprovalDtoResponse::getBookingId)
+                .containsExactly(2L, 3L, 12L, 100L, 2L, 10L);
+        assertThat(results).extracting(BookingApprovalDtoResponse::getStatus)
+                .containsExactly(Status.APPROVED, null, null, null, null, Status.REJECTED);
+        assertThat(results.get(1).getError()).startsWith("Item id=2 is already booked between");
+        assertThat(results.get(2).getError()).isEqualTo("User id=1 is not owner of item id=4");
+        assertThat(results.get(3).getError()).isEqualTo("Entity Booking not found. Id=100");
+        assertThat(results.get(4).getError()).isEqualTo("Duplicate booking id=2");
+        assertThat(bookingService.getById(2L, 1L)).hasFieldOrPropertyWithValue("status", Status.APPROVED);
+        assertThat(bookingService.getById(3L, 1L)).hasFieldOrPropertyWithValue("status", Status.WAITING);
+        assertThat(bookingService.getById(10L, 1L)).hasFieldOrPropertyWithValue("status", Status.REJECTED);
+    }
+
+    @Test
+    @Order(18)
+    void exportByBookerIdTest() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingService.exportByBookerId(6L, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        List<JsonNode> bookings = new ArrayList<>();
+        for (String line : lines) {
+            bookings.add(objectMapper.readTree(line));
+        }
+        assertThat(bookings).extracting(b -> b.at("/id").asLong())
+                .containsExactlyElementsOf(bookingService.getByBookerId(6L, "ALL", 0, 10, null).stream()
+                        .map(BookingDtoResponse::getId)
+                        .collect(Collectors.toList()));
+        assertThat(bookings).extracting(b -> b.at("/booker/id").asLong()).containsOnly(6L);
+    }
+
+    @Test
+    @Order(19)
+    void exportByNonExistentBookerIdTest() {
+        assertThrows(NotFoundException.class, () -> bookingService.exportByBookerId(100L, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @Order(20)
+    void approveAllFlushesOnceTest() {
+        List<Long> ids = List.of(create(2L, 100), create(2L, 102), create(3L, 100));
+        // stale summaries, so that approving has to query the bookings of both items while the batch is open
+        jdbcTemplate.update("insert into item_booking_summary (item_id, next_booking_id, next_booker_id, " +
+                "next_start, next_end) select id, 1, 3, ?, ? from items where id in (2, 3)",
+                LocalDateTime.now().minusDays(1), LocalDateTime.now());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingApprovalDtoResponse> results = bookingService.approveAll(1L, ids.stream()
+                .map(id -> new BookingApprovalDtoRequest(id, true))
+                .collect(Collectors.toList()));
+
+        assertThat(results).extracting(BookingApprovalDtoResponse::getStatus).containsOnly(Status.APPROVED);
+        // the batch's own flush, which writes all five updates, and the empty one at commit
+        assertThat(statistics.getFlushCount()).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(5);
+    }
+
+    private Long create(Long itemId, int startInDays) {
+        return bookingService.create(BookingDtoRequest.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(startInDays))
+                .end(LocalDateTime.now().plusDays(startInDays + 1))
+                .build(), 3L).getId();
+    }
+
+}
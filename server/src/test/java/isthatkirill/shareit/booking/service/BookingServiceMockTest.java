@@ -1,15 +1,25 @@
 package isthatkirill.shareit.booking.service;
 
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoRequest;
+import isthatkirill.shareit.booking.dto.BookingApprovalDtoResponse;
+import isthatkirill.shareit.booking.dto.BookingCursor;
 import isthatkirill.shareit.booking.dto.BookingDtoRequest;
 import isthatkirill.shareit.booking.dto.BookingDtoResponse;
 import isthatkirill.shareit.booking.mapper.BookingMapper;
 import isthatkirill.shareit.booking.model.Booking;
+import isthatkirill.shareit.booking.model.BookingRole;
+import isthatkirill.shareit.booking.model.BookingState;
+import isthatkirill.shareit.booking.model.Status;
+import isthatkirill.shareit.booking.overlap.BookingOverlapGuard;
+import isthatkirill.shareit.booking.repository.BookingFilter;
 import isthatkirill.shareit.booking.repository.BookingRepository;
+import isthatkirill.shareit.item.availability.service.ItemAvailabilityService;
 import isthatkirill.shareit.item.service.ItemService;
 import isthatkirill.shareit.user.model.User;
 import isthatkirill.shareit.user.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,9 +27,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import isthatkirill.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +53,12 @@ class BookingServiceMockTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private BookingOverlapGuard bookingOverlapGuard;
+
+    @Mock
+    private ItemAvailabilityService itemAvailabilityService;
+
     @Test
     void createTest() {
         Long ownerId = 1L;
@@ -63,10 +82,34 @@ class BookingServiceMockTest {
 
         verify(userService, times(1)).checkUserExistentAndGet(bookerId);
         verify(itemService, times(1)).checkItemExistentAndGet(itemId);
+        verify(bookingOverlapGuard, times(1)).checkFree(itemId, null, null);
+        verify(itemAvailabilityService, times(1)).evict(itemId);
         verify(bookingMapper, times(1)).toBooking(bookingDtoRequest, booker, item);
         verify(bookingRepository, times(1)).save(booking);
         verify(bookingMapper, times(1)).toBookingDtoResponse(booking);
-        verifyNoMoreInteractions(userService, itemService, bookingMapper, bookingRepository);
+        verifyNoMoreInteractions(userService, itemService, bookingMapper, bookingRepository, bookingOverlapGuard,
+                itemAvailabilityService);
+    }
+
+    @Test
+    void approveAllTest() {
+        Long ownerId = 1L;
+        User owner = User.builder().id(ownerId).build();
+        Item item = Item.builder().id(1L).owner(owner).build();
+        Booking first = Booking.builder().id(1L).item(item).status(Status.WAITING).build();
+        Booking second = Booking.builder().id(2L).item(item).status(Status.WAITING).build();
+
+        when(bookingRepository.findAllByIdIn(any())).thenReturn(List.of(first, second));
+
+        List<BookingApprovalDtoResponse> results = bookingService.approveAll(ownerId, List.of(
+                new BookingApprovalDtoRequest(1L, false), new BookingApprovalDtoRequest(2L, false)));
+
+        assertThat(results).extracting(BookingApprovalDtoResponse::getStatus)
+                .containsExactly(Status.REJECTED, Status.REJECTED);
+        verify(bookingRepository, times(1)).findAllByIdIn(Set.of(1L, 2L));
+        verify(bookingRepository, times(1)).flush();
+        verify(itemAvailabilityService, times(2)).evict(1L);
+        verifyNoMoreInteractions(bookingRepository, bookingOverlapGuard, itemAvailabilityService);
     }
 
     @Test
@@ -74,19 +117,23 @@ class BookingServiceMockTest {
         Long bookerId = 1L;
         String state = "ALL";
         int from = 0, size = 10;
-        User user = new User();
         List<BookingDtoResponse> bookingsDto = new ArrayList<>();
         List<Booking> bookings = new ArrayList<>();
         Pageable pageable = PageRequest.of(0, size);
 
-        when(userService.checkUserExistentAndGet(anyLong())).thenReturn(user);
-        when(bookingRepository.findAllByBookerIdOrderByStartDesc(anyLong(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByFilter(any(), any())).thenReturn(bookings);
         when(bookingMapper.toBookingDtoResponse(anyList())).thenReturn(bookingsDto);
 
-        bookingService.getByBookerId(bookerId, state, from, size);
+        bookingService.getByBookerId(bookerId, state, from, size, null);
 
-        verify(userService, times(1)).checkUserExistentAndGet(bookerId);
-        verify(bookingRepository, times(1)).findAllByBookerIdOrderByStartDesc(bookerId, pageable);
+        ArgumentCaptor<BookingFilter> filter = ArgumentCaptor.forClass(BookingFilter.class);
+        verify(userService, times(1)).checkUserExistent(bookerId);
+        verify(bookingRepository, times(1)).findAllByFilter(filter.capture(), eq(pageable));
+        assertThat(filter.getValue())
+                .hasFieldOrPropertyWithValue("userId", bookerId)
+                .hasFieldOrPropertyWithValue("role", BookingRole.BOOKER)
+                .hasFieldOrPropertyWithValue("state", BookingState.ALL)
+                .hasFieldOrPropertyWithValue("after", null);
         verify(bookingMapper, times(1)).toBookingDtoResponse(bookings);
         verifyNoMoreInteractions(userService, bookingMapper, bookingRepository);
     }
@@ -96,19 +143,23 @@ class BookingServiceMockTest {
         Long bookerId = 1L;
         String state = "CURRENT";
         int from = 0, size = 10;
-        User user = new User();
         List<BookingDtoResponse> bookingsDto = new ArrayList<>();
         List<Booking> bookings = new ArrayList<>();
         Pageable pageable = PageRequest.of(0, size);
 
-        when(userService.checkUserExistentAndGet(anyLong())).thenReturn(user);
-        when(bookingRepository.findCurrentBookingsByOwner(anyLong(), any())).thenReturn(bookings);
+        when(bookingRepository.findAllByFilter(any(), any())).thenReturn(bookings);
         when(bookingMapper.toBookingDtoResponse(anyList())).thenReturn(bookingsDto);
 
-        bookingService.getByOwnerId(bookerId, state, from, size);
+        bookingService.getByOwnerId(bookerId, state, from, size, "2030-01-01T10:00,5");
 
-        verify(userService, times(1)).checkUserExistentAndGet(bookerId);
-        verify(bookingRepository, times(1)).findCurrentBookingsByOwner(bookerId, pageable);
+        ArgumentCaptor<BookingFilter> filter = ArgumentCaptor.forClass(BookingFilter.class);
+        verify(userService, times(1)).checkUserExistent(bookerId);
+        verify(bookingRepository, times(1)).findAllByFilter(filter.capture(), eq(pageable));
+        assertThat(filter.getValue())
+                .hasFieldOrPropertyWithValue("userId", bookerId)
+                .hasFieldOrPropertyWithValue("role", BookingRole.OWNER)
+                .hasFieldOrPropertyWithValue("state", BookingState.CURRENT)
+                .hasFieldOrPropertyWithValue("after", new BookingCursor(LocalDateTime.of(2030, 1, 1, 10, 0), 5L));
         verify(bookingMapper, times(1)).toBookingDtoResponse(bookings);
         verifyNoMoreInteractions(userService, bookingMapper, bookingRepository);
     }
@@ -0,0 +1,97 @@
+package isthatkirill.shareit.item.availability.service;
+
+import isthatkirill.shareit.booking.dto.BookingDtoRequest;
+import isthatkirill.shareit.booking.service.BookingService;
+import isthatkirill.shareit.item.availability.dto.ItemAvailabilityDto;
+import isthatkirill.shareit.item.availability.dto.TimeWindow;
+import isthatkirill.shareit.util.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Sql(value = {"/test-schema.sql", "/test-users-extended.sql", "/test-items-extended.sql",
+        "/test-bookings-extended.sql"})
+class ItemAvailabilityServiceImplTest {
+
+    @Autowired
+    private ItemAvailabilityService itemAvailabilityService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void busyAndFreeWindowsTest() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = LocalDateTime.now().plusDays(11);
+
+        ItemAvailabilityDto availability = itemAvailabilityService.getAvailability(1L, 2L, from, to);
+
+        assertThat(availability)
+                .hasFieldOrPropertyWithValue("itemId", 1L)
+                .hasFieldOrPropertyWithValue("from", from)
+                .hasFieldOrPropertyWithValue("to", to);
+        assertThat(availability.getBusy()).hasSize(2);
+        assertThat(availability.getBusy().get(1).getEnd()).isEqualTo(to);
+        assertThat(availability.getFree()).hasSize(2)
+                .containsExactly(
+                        new TimeWindow(from, availability.getBusy().get(0).getStart()),
+                        new TimeWindow(availability.getBusy().get(0).getEnd(), availability.getBusy().get(1).getStart()));
+    }
+
+    @Test
+    void overlappingBookingsAreMergedTest() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = LocalDateTime.now().plusDays(3);
+
+        ItemAvailabilityDto availability = itemAvailabilityService.getAvailability(2L, 1L, from, to);
+
+        assertThat(availability.getBusy()).hasSize(1);
+        assertThat(availability.getBusy().get(0).getStart()).isEqualTo(from);
+        assertThat(availability.getFree()).hasSize(1)
+                .containsExactly(new TimeWindow(availability.getBusy().get(0).getEnd(), to));
+    }
+
+    @Test
+    void newBookingInvalidatesCacheTest() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = LocalDateTime.now().plusDays(20);
+
+        assertThat(itemAvailabilityService.getAvailability(3L, 4L, from, to).getBusy()).hasSize(1);
+
+        bookingService.create(BookingDtoRequest.builder()
+                .itemId(3L)
+                .start(LocalDateTime.now().plusDays(8))
+                .end(LocalDateTime.now().plusDays(9))
+                .build(), 4L);
+
+        assertThat(itemAvailabilityService.getAvailability(3L, 4L, from, to).getBusy()).hasSize(2);
+    }
+
+    @Test
+    void invalidRangeTest() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Throwable e = assertThrows(IllegalArgumentException.class,
+                () -> itemAvailabilityService.getAvailability(1L, 1L, now, now));
+
+        assertThat(e).hasMessage("Parameter 'from' must be before 'to'");
+    }
+
+    @Test
+    void nonExistentItemTest() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Throwable e = assertThrows(NotFoundException.class,
+                () -> itemAvailabilityService.getAvailability(100L, 1L, now, now.plusDays(1)));
+
+        assertThat(e).hasMessage("Entity Item not found. Id=100");
+    }
+
+}
@@ -50,7 +50,7 @@ class CommentMapperTest {
         Comment comment = Comment.builder()
                 .id(3L)
                 .text("testText")
-                .author(new User(1L, "authorName", "authorEmail@yahoo.com"))
+                .author(new User(1L, 0L, "authorName", "authorEmail@yahoo.com"))
                 .created(LocalDateTime.now())
                 .build();
 
@@ -1,15 +1,18 @@
 package isthatkirill.shareit.item.comment.repository;
 
 import isthatkirill.shareit.item.comment.model.Comment;
+import isthatkirill.shareit.item.comment.model.ItemCommentShort;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
 
 @DataJpaTest
 @AutoConfigureTestDatabase
@@ -20,21 +23,43 @@ class CommentRepositoryTest {
     CommentRepository commentRepository;
 
     @Test
-    void findByItemIdTest() {
-        List<Comment> comments = commentRepository.findByItemId(2L);
+    void findLatestByItemIdTest() {
+        List<Comment> comments = commentRepository.findLatestByItemId(2L, PageRequest.of(0, 10));
 
         assertThat(comments).hasSize(2);
         assertThat(comments.get(0))
-                .hasFieldOrPropertyWithValue("text", "comment1");
-        assertThat(comments.get(1))
                 .hasFieldOrPropertyWithValue("text", "comment3");
+        assertThat(comments.get(0).getAuthor().getId()).isEqualTo(3L);
+        assertThat(comments.get(1))
+                .hasFieldOrPropertyWithValue("text", "comment1");
     }
 
     @Test
-    void findByItemIdEmptyTest() {
-        List<Comment> comments = commentRepository.findByItemId(3L);
+    void findLatestByItemIdEmptyTest() {
+        List<Comment> comments = commentRepository.findLatestByItemId(3L, PageRequest.of(0, 10));
 
         assertThat(comments).isEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    void findPageByItemIdBeforeTest() {
+        List<Comment> first = commentRepository.findLatestByItemId(2L, PageRequest.of(0, 1));
+        Comment last = first.get(0);
+
+        List<Comment> second = commentRepository.findPageByItemIdBefore(2L, last.getCreated(), last.getId(),
+                PageRequest.of(0, 1));
+
+        assertThat(first).extracting(Comment::getText).containsExactly("comment3");
+        assertThat(second).extracting(Comment::getText).containsExactly("comment1");
+    }
+
+    @Test
+    void findLatestByItemIdInTest() {
+        List<ItemCommentShort> comments = commentRepository.findLatestByItemIdIn(List.of(2L, 3L, 5L), 1);
+
+        assertThat(comments)
+                .extracting(ItemCommentShort::getItemId, ItemCommentShort::getText, ItemCommentShort::getAuthorName)
+                .containsExactly(tuple(2L, "comment3", "yahoo"), tuple(5L, "comment4", "google"));
+    }
+
+}
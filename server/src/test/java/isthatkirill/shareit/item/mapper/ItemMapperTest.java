@@ -49,7 +49,7 @@ class ItemMapperTest {
                 .id(4L)
                 .name("testItem")
                 .description("testItemDesc")
-                .owner(new User(3L, "itemOwner", "itemOwner@google.com"))
+                .owner(new User(3L, 0L, "itemOwner", "itemOwner@google.com"))
                 .available(true)
                 .requestId(11L)
                 .build();
@@ -70,7 +70,7 @@ class ItemMapperTest {
                 .id(4L)
                 .name("testItem")
                 .description("testItemDesc")
-                .owner(new User(3L, "itemOwner", "itemOwner@google.com"))
+                .owner(new User(3L, 0L, "itemOwner", "itemOwner@google.com"))
                 .available(true)
                 .requestId(11L)
                 .build();
@@ -20,15 +20,6 @@ class ItemRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
 
-    @Test
-    void searchTest() {
-        List<Item> items = itemRepository.search("oo", PageRequest.of(0, 10));
-
-        assertThat(items).hasSize(2)
-                .extracting(Item::getDescription)
-                .containsExactlyInAnyOrder("google", "facebook");
-    }
-
     @Test
     void findAllByOwnerIdOrderById() {
         List<Item> userOneItems = itemRepository.findAllByOwnerIdOrderById(1L, PageRequest.of(0, 10));
@@ -54,4 +45,14 @@ class ItemRepositoryTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    @Sql(value = {"/test-schema.sql", "/test-users.sql", "/test-item-req.sql", "/test-items.sql"},
+            statements = "update items set request_id = id - 1 where id in (2, 3, 4)")
+    void findAllByRequestIdInTest() {
+        List<Item> items = itemRepository.findAllByRequestIdIn(List.of(1L, 3L));
+
+        assertThat(items).hasSize(2)
+                .extracting(Item::getRequestId)
+                .containsExactlyInAnyOrder(1L, 3L);
+    }
+}
@@ -0,0 +1,96 @@
+package isthatkirill.shareit.item.search;
+
+import isthatkirill.shareit.item.model.Item;
+import isthatkirill.shareit.item.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramItemSearchEngineTest {
+
+    @InjectMocks
+    private TrigramItemSearchEngine searchEngine;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final List<Item> items = List.of(
+            Item.builder().id(1L).name("item1").description("yandex").available(false).build(),
+            Item.builder().id(2L).name("item2").description("google").available(true).build(),
+            Item.builder().id(3L).name("Google pixel").description("phone").available(true).build(),
+            Item.builder().id(4L).name("item4").description("facebook").available(true).build(),
+            Item.builder().id(5L).name("item5").description("amazon").available(true).build());
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Map<Long, Item> byId = items.stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+        when(itemRepository.findAll()).thenReturn(items);
+        lenient().when(itemRepository.findAllById(anyIterable())).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream()
+                        .map(byId::get)
+                        .collect(Collectors.toList()));
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void searchRanksNameMatchesFirstTest() {
+        List<Item> found = searchEngine.search("GOOGLE", PageRequest.of(0, 10));
+
+        assertThat(found)
+                .extracting(Item::getId)
+                .containsExactly(3L, 2L);
+    }
+
+    @Test
+    void searchShortTermTest() {
+        List<Item> found = searchEngine.search("oo", PageRequest.of(0, 10));
+
+        assertThat(found)
+                .extracting(Item::getDescription)
+                .containsExactlyInAnyOrder("google", "phone", "facebook");
+    }
+
+    @Test
+    void searchSkipsUnavailableItemsTest() {
+        List<Item> found = searchEngine.search("yandex", PageRequest.of(0, 10));
+
+        assertThat(found).isEmpty();
+    }
+
+    @Test
+    void searchWithPaginationTest() {
+        List<Item> found = searchEngine.search("item", PageRequest.of(1, 2));
+
+        assertThat(found)
+                .extracting(Item::getId)
+                .containsExactly(5L);
+    }
+
+    @Test
+    void indexUpdatedItemTest() {
+        searchEngine.index(Item.builder().id(5L).name("item5").description("ebay").available(true).build());
+
+        assertThat(searchEngine.search("amazon", PageRequest.of(0, 10))).isEmpty();
+        assertThat(searchEngine.search("ebay", PageRequest.of(0, 10)))
+                .extracting(Item::getId)
+                .containsExactly(5L);
+    }
+
+}
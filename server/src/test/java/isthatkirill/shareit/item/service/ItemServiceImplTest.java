@@ -1,8 +1,12 @@
 package isthatkirill.shareit.item.service;
 
+import isthatkirill.shareit.item.comment.dto.CommentCursor;
 import isthatkirill.shareit.item.comment.dto.CommentDtoRequest;
+import isthatkirill.shareit.item.comment.dto.CommentDtoResponse;
 import isthatkirill.shareit.item.dto.ItemDtoRequest;
 import isthatkirill.shareit.item.dto.ItemDtoResponse;
+import isthatkirill.shareit.item.model.Item;
+import isthatkirill.shareit.item.repository.ItemRepository;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -10,12 +14,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
 import isthatkirill.shareit.util.exception.CommentingDeniedException;
 import isthatkirill.shareit.util.exception.IncorrectOwnerException;
 import isthatkirill.shareit.util.exception.NotFoundException;
+import isthatkirill.shareit.util.exception.VersionConflictException;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -27,6 +39,15 @@ class ItemServiceImplTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     @Order(1)
     @Sql(value = {"/test-schema.sql", "/test-users.sql"})
@@ -57,6 +78,7 @@ class ItemServiceImplTest {
 
         assertThat(dtoOut).isNotNull()
                 .hasFieldOrPropertyWithValue("id", 1L)
+                .hasFieldOrPropertyWithValue("version", 1L)
                 .hasFieldOrPropertyWithValue("name", dtoIn.getName())
                 .hasFieldOrPropertyWithValue("available", false)
                 .hasFieldOrPropertyWithValue("description", "description_1");
@@ -146,6 +168,7 @@ class ItemServiceImplTest {
                 .hasFieldOrPropertyWithValue("lastBooking.bookerId", 2L)
                 .hasFieldOrPropertyWithValue("nextBooking.id", 2L)
                 .hasFieldOrPropertyWithValue("nextBooking.bookerId", 3L)
+                .hasFieldOrPropertyWithValue("commentCount", 2)
                 .satisfies(i -> Assertions.assertThat(i.getComments()).hasSize(2));
     }
 
@@ -273,10 +296,109 @@ class ItemServiceImplTest {
     void createCommentTest() {
         itemService.createComment(1L, 2L, new CommentDtoRequest("comment"));
 
-        assertThat(itemService.getById(1L, 1L))
-                .extracting(ItemDtoResponse::getComments)
-                .asList().hasSize(3);
+        ItemDtoResponse item = itemService.getById(1L, 1L);
+        assertThat(item.getCommentCount()).isEqualTo(3);
+        assertThat(item.getComments()).hasSize(3)
+                .first().hasFieldOrPropertyWithValue("text", "comment");
     }
 
+    @Test
+    @Order(21)
+    void updateItemWithStaleVersionTest() {
+        ItemDtoRequest stale = ItemDtoRequest.builder()
+                .name("name_updated_stale")
+                .version(0L)
+                .build();
+
+        Throwable e = assertThrows(VersionConflictException.class, () -> itemService.update(stale, 1L, 1L));
+
+        assertThat(e).hasMessage("Entity Item id=1 was modified. Expected version 0, current version 3");
+    }
+
+    @Test
+    @Order(22)
+    void createAllTest() {
+        List<ItemDtoRequest> dtosIn = IntStream.rangeClosed(1, 120)
+                .mapToObj(i -> ItemDtoRequest.builder()
+                        .name("batch_" + i)
+                        .description("imported")
+                        .available(true)
+                        .build())
+                .collect(Collectors.toList());
+
+        List<ItemDtoRequest> dtosOut = itemService.createAll(dtosIn, 1L);
+
+        assertThat(dtosOut).hasSize(120)
+                .extracting(ItemDtoRequest::getName)
+                .containsExactlyElementsOf(dtosIn.stream().map(ItemDtoRequest::getName).collect(Collectors.toList()));
+        assertThat(dtosOut).extracting(ItemDtoRequest::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(itemService.getByOwner(1L, 0, 200)).hasSize(123);
+    }
+
+    @Test
+    @Order(23)
+    void exportByOwnerTest() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        itemService.exportByOwner(1L, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+        assertThat(lines).hasSize(123);
+        assertThat(lines.get(0)).startsWith("{\"id\":1,");
+        assertThat(lines.get(122)).contains("\"name\":\"batch_120\"");
+    }
+
+    @Test
+    @Order(24)
+    void getCommentsWithCursorTest() {
+        List<CommentDtoResponse> first = itemService.getComments(1L, null, 2);
+        CommentCursor cursor = CommentCursor.next(first, 2);
+        List<CommentDtoResponse> second = itemService.getComments(1L, cursor.toString(), 2);
+
+        assertThat(first).extracting(CommentDtoResponse::getText).containsExactly("comment", "comment2");
+        assertThat(second).extracting(CommentDtoResponse::getText).containsExactly("comment1");
+        assertThat(CommentCursor.next(second, 2)).isNull();
+    }
+
+    @Test
+    @Order(25)
+    void getCommentsOfNonExistentItemTest() {
+        Throwable e = assertThrows(NotFoundException.class, () -> itemService.getComments(1000L, null, 10));
+
+        assertThat(e).hasMessage("Entity Item not found. Id=1000");
+    }
+
+    @Test
+    @Order(26)
+    void ownerUpdateKeepsConcurrentCommentCountTest() {
+        Integer before = jdbcTemplate.queryForObject("select comment_count from items where id = 1", Integer.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Item item = itemRepository.findById(1L).orElseThrow();
+            // a comment commits while the owner still holds the item with the old count
+            CompletableFuture.runAsync(() -> itemService.createComment(1L, 2L,
+                    new CommentDtoRequest("interleaved"))).join();
+            item.setName("name_interleaved");
+            itemRepository.saveAndFlush(item);
+        });
+
+        assertThat(jdbcTemplate.queryForObject("select comment_count from items where id = 1", Integer.class))
+                .isEqualTo(before + 1);
+        assertThat(jdbcTemplate.queryForObject("select name from items where id = 1", String.class))
+                .isEqualTo("name_interleaved");
+    }
+
+    @Test
+    @Order(27)
+    void rolledBackUpdateIsNotSearchableTest() {
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.update(ItemDtoRequest.builder().name("rolled_back_name").build(), 1L, 1L);
+            status.setRollbackOnly();
+        });
+
+        assertThat(itemService.search("rolled_back", 0, 10)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("select name from items where id = 1", String.class))
+                .isEqualTo("name_interleaved");
+    }
 
-}
\ No newline at end of file
+}
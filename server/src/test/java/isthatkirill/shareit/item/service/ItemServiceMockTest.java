@@ -12,10 +12,14 @@ import isthatkirill.shareit.item.dto.ItemDtoRequest;
 import isthatkirill.shareit.item.dto.ItemDtoResponse;
 import isthatkirill.shareit.item.mapper.ItemMapper;
 import isthatkirill.shareit.item.repository.ItemRepository;
+import isthatkirill.shareit.item.search.ItemSearchEngine;
+import isthatkirill.shareit.item.summary.model.ItemBookingSummary;
+import isthatkirill.shareit.item.summary.service.ItemBookingSummaryService;
 import isthatkirill.shareit.user.model.User;
 import isthatkirill.shareit.user.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,8 +28,10 @@ import isthatkirill.shareit.item.model.Item;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,10 +58,16 @@ class ItemServiceMockTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
     @Test
     void createTest() {
         User user = new User();
-        Item item = new Item();
+        Item item = Item.builder().id(1L).build();
         ItemDtoRequest itemDtoRequest = new ItemDtoRequest();
 
         when(userService.checkUserExistentAndGet(anyLong())).thenReturn(user);
@@ -68,8 +80,34 @@ class ItemServiceMockTest {
         verify(userService, times(1)).checkUserExistentAndGet(1L);
         verify(itemMapper, times(1)).toItem(itemDtoRequest, user, null);
         verify(itemRepository, times(1)).save(item);
+        verify(itemBookingSummaryService, times(1)).createEmpty(List.of(1L));
+        verify(itemSearchEngine, times(1)).index(item);
         verify(itemMapper, times(1)).toItemDtoRequest(item);
-        verifyNoMoreInteractions(itemRepository, itemMapper, userService);
+        verifyNoMoreInteractions(itemRepository, itemMapper, userService, itemSearchEngine);
+    }
+
+    @Test
+    void createAllTest() {
+        User user = new User();
+        Item item = Item.builder().id(1L).build();
+        ItemDtoRequest itemDtoRequest = new ItemDtoRequest();
+        List<ItemDtoRequest> itemDtoRequests = List.of(itemDtoRequest, itemDtoRequest);
+
+        when(userService.checkUserExistentAndGet(anyLong())).thenReturn(user);
+        when(itemMapper.toItem(any(ItemDtoRequest.class), any(User.class), isNull())).thenReturn(item);
+        when(itemRepository.saveAll(anyList())).thenReturn(List.of(item, item));
+        when(itemMapper.toItemDtoRequest(anyList())).thenReturn(itemDtoRequests);
+
+        itemService.createAll(itemDtoRequests, 1L);
+
+        verify(userService, times(1)).checkUserExistentAndGet(1L);
+        verify(itemMapper, times(2)).toItem(itemDtoRequest, user, null);
+        verify(itemRepository, times(1)).saveAll(List.of(item, item));
+        verify(itemRepository, times(1)).flush();
+        verify(itemBookingSummaryService, times(1)).createEmpty(List.of(1L, 1L));
+        verify(itemSearchEngine, times(2)).index(item);
+        verify(itemMapper, times(1)).toItemDtoRequest(List.of(item, item));
+        verifyNoMoreInteractions(itemRepository, itemMapper, userService, itemSearchEngine);
     }
 
     @Test
@@ -85,17 +123,19 @@ class ItemServiceMockTest {
         ItemDtoRequest itemDtoRequest = new ItemDtoRequest();
 
         when(userService.checkUserExistentAndGet(anyLong())).thenReturn(user);
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(itemMapper.toItem(any(), any(), anyLong())).thenReturn(item);
-        when(itemRepository.save(any())).thenReturn(item);
+        when(itemRepository.saveAndFlush(any())).thenReturn(item);
         when(itemMapper.toItemDtoRequest(any(Item.class))).thenReturn(itemDtoRequest);
 
         itemService.update(itemDtoRequest, ownerId, itemId);
 
         verify(userService, times(1)).checkUserExistentAndGet(ownerId);
         verify(itemMapper, times(1)).toItem(itemDtoRequest, user, itemId);
-        verify(itemRepository, times(1)).save(item);
-        verify(itemRepository, times(2)).findById(itemId);
+        verify(itemRepository, times(1)).saveAndFlush(item);
+        verify(itemRepository, times(1)).findByIdForUpdate(itemId);
+        verify(itemRepository, times(1)).findById(itemId);
         verify(itemMapper, times(1)).toItemDtoRequest(item);
         verifyNoMoreInteractions(itemRepository, itemMapper, userService);
     }
@@ -117,9 +157,10 @@ class ItemServiceMockTest {
         ItemDtoResponse itemDtoResponse = new ItemDtoResponse();
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemBookingSummaryService.findFresh(anyLong())).thenReturn(Optional.empty());
         when(bookingRepository.findNextBooking(anyLong())).thenReturn(nextBookings);
         when(bookingRepository.findLastBooking(anyLong())).thenReturn(lastBookings);
-        when(commentRepository.findByItemId(anyLong())).thenReturn(comments);
+        when(commentRepository.findLatestByItemId(anyLong(), any())).thenReturn(comments);
         when(itemMapper.toItemDtoResponse(any(), any(), any(), any()))
                 .thenReturn(itemDtoResponse);
 
@@ -128,13 +169,45 @@ class ItemServiceMockTest {
         verify(itemRepository, times(1)).findById(itemId);
         verify(bookingRepository, times(1)).findNextBooking(itemId);
         verify(bookingRepository, times(1)).findLastBooking(itemId);
-        verify(commentRepository, times(1)).findByItemId(itemId);
+        verify(commentRepository, times(1))
+                .findLatestByItemId(itemId, PageRequest.of(0, ItemServiceImpl.LATEST_COMMENTS));
         verify(itemMapper, times(1)).toItemDtoResponse(item,
                 nextBookings.get(0), lastBookings.get(0),
                 commentMapper.toCommentDtoResponse(comments));
         verifyNoMoreInteractions(itemRepository, itemMapper, userService, bookingRepository, commentRepository);
     }
 
+    @Test
+    void getByIdFromSummary() {
+        Long itemId = 1L;
+        Long ownerId = 2L;
+
+        User user = User.builder()
+                .id(ownerId)
+                .build();
+        Item item = Item.builder()
+                .owner(user)
+                .build();
+        ItemBookingSummary summary = ItemBookingSummary.builder()
+                .itemId(itemId)
+                .nextBookingId(5L)
+                .lastBookingId(4L)
+                .build();
+
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemBookingSummaryService.findFresh(anyLong())).thenReturn(Optional.of(summary));
+        when(commentRepository.findLatestByItemId(anyLong(), any())).thenReturn(Collections.emptyList());
+
+        itemService.getById(itemId, ownerId);
+
+        ArgumentCaptor<BookingShort> next = ArgumentCaptor.forClass(BookingShort.class);
+        ArgumentCaptor<BookingShort> last = ArgumentCaptor.forClass(BookingShort.class);
+        verify(itemMapper, times(1)).toItemDtoResponse(eq(item), next.capture(), last.capture(), any());
+        assertThat(next.getValue().getId()).isEqualTo(5L);
+        assertThat(last.getValue().getId()).isEqualTo(4L);
+        verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     void getByOwner() {
         Long ownerId = 1L;
@@ -146,9 +219,9 @@ class ItemServiceMockTest {
         ItemDtoResponse itemDtoResponse = new ItemDtoResponse();
 
         when(itemRepository.findAllByOwnerIdOrderById(anyLong(), any())).thenReturn(items);
-        when(bookingRepository.findNextBooking(anyLong())).thenReturn(Collections.emptyList());
-        when(bookingRepository.findLastBooking(anyLong())).thenReturn(Collections.emptyList());
-        when(commentRepository.findByItemId(anyLong())).thenReturn(Collections.emptyList());
+        when(itemBookingSummaryService.findFresh(anyList())).thenReturn(Map.of());
+        when(bookingRepository.findNextAndLastBookings(anyList())).thenReturn(Collections.emptyList());
+        when(commentRepository.findLatestByItemIdIn(anyList(), anyInt())).thenReturn(Collections.emptyList());
         when(itemMapper.toItemDtoResponse(any(), any(), any(), any()))
                 .thenReturn(itemDtoResponse);
 
@@ -156,11 +229,26 @@ class ItemServiceMockTest {
 
         verify(itemRepository, times(1))
                 .findAllByOwnerIdOrderById(ownerId, PageRequest.of(from, size));
-        verify(bookingRepository, times(1)).findNextBooking(item.getId());
-        verify(bookingRepository, times(1)).findLastBooking(item.getId());
-        verify(commentRepository, times(1)).findByItemId(item.getId());
+        verify(bookingRepository, times(1)).findNextAndLastBookings(List.of(item.getId()));
+        verify(commentRepository, times(1))
+                .findLatestByItemIdIn(List.of(item.getId()), ItemServiceImpl.LATEST_COMMENTS);
         verify(itemMapper, times(1))
-                .toItemDtoResponse(eq(item), any(), any(), any());
+                .toItemDtoResponse(eq(item), isNull(), isNull(), any());
+        verifyNoMoreInteractions(itemRepository, bookingRepository, commentRepository);
+    }
+
+    @Test
+    void getByOwnerOfZeroItems() {
+        Long ownerId = 1L;
+        int from = 0, size = 10;
+
+        when(itemRepository.findAllByOwnerIdOrderById(anyLong(), any())).thenReturn(Collections.emptyList());
+
+        itemService.getByOwner(ownerId, from, size);
+
+        verify(itemRepository, times(1))
+                .findAllByOwnerIdOrderById(ownerId, PageRequest.of(from, size));
+        verifyNoInteractions(bookingRepository, commentRepository, itemMapper);
     }
 
     @Test
@@ -171,15 +259,15 @@ class ItemServiceMockTest {
         List<Item> items = List.of(new Item());
         List<ItemDtoRequest> itemDtos = List.of(new ItemDtoRequest());
 
-        when(itemRepository.search(any(), any())).thenReturn(items);
+        when(itemSearchEngine.search(any(), any())).thenReturn(items);
         when(itemMapper.toItemDtoRequest(anyList())).thenReturn(itemDtos);
 
         itemService.search(text, from, size);
 
-        verify(itemRepository, times(1))
+        verify(itemSearchEngine, times(1))
                 .search(text, PageRequest.of(from, size));
         verify(itemMapper, times(1)).toItemDtoRequest(items);
-        verifyNoMoreInteractions(itemRepository, itemMapper);
+        verifyNoMoreInteractions(itemRepository, itemMapper, itemSearchEngine);
     }
 
     @Test
@@ -195,8 +283,8 @@ class ItemServiceMockTest {
         Item item = Item.builder()
                 .id(userId).build();
 
-        when(userService.checkUserExistentAndGet(anyLong())).thenReturn(user);
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userService.checkUserExistentAndGetReference(anyLong())).thenReturn(user);
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.checkIfUserBookedItem(anyLong(), anyLong())).thenReturn(true);
         when(commentMapper.toComment(any(), any(), any())).thenReturn(comment);
         when(commentRepository.save(any())).thenReturn(comment);
@@ -204,8 +292,10 @@ class ItemServiceMockTest {
 
         itemService.createComment(itemId, userId, commentDtoRequest);
 
-        verify(userService, times(1)).checkUserExistentAndGet(userId);
+        verify(userService, times(1)).checkUserExistentAndGetReference(userId);
         verify(bookingRepository, times(1)).checkIfUserBookedItem(itemId, userId);
+        verify(itemRepository, times(1)).findByIdForUpdate(itemId);
+        assertThat(item.getCommentCount()).isEqualTo(1);
         verify(commentMapper, times(1)).toComment(commentDtoRequest.getText(), item, user);
         verify(commentRepository, times(1)).save(comment);
         verify(commentMapper, times(1)).toCommentDtoResponse(comment);
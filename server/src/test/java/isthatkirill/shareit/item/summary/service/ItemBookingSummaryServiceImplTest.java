@@ -0,0 +1,117 @@
+package isthatkirill.shareit.item.summary.service;
+
+import isthatkirill.shareit.booking.dto.BookingDtoRequest;
+import isthatkirill.shareit.booking.service.BookingService;
+import isthatkirill.shareit.item.dto.ItemDtoRequest;
+import isthatkirill.shareit.item.dto.ItemDtoResponse;
+import isthatkirill.shareit.item.service.ItemService;
+import isthatkirill.shareit.item.summary.model.ItemBookingSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Sql(value = {"/test-schema.sql", "/test-users-extended.sql"})
+class ItemBookingSummaryServiceImplTest {
+
+    @Autowired
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Autowired
+    private ItemBookingSummaryJob itemBookingSummaryJob;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long itemId;
+
+    @BeforeEach
+    void createItem() {
+        itemId = itemService.create(ItemDtoRequest.builder()
+                .name("drill")
+                .description("cordless")
+                .available(true)
+                .build(), 1L).getId();
+    }
+
+    @Test
+    void approvalsAreFoldedIntoSummaryTest() {
+        Long later = book(2L, 5, 6, true);
+        Long sooner = book(3L, 2, 3, true);
+        Long past = book(4L, -3, -2, true);
+        book(5L, 8, 9, false);
+
+        ItemBookingSummary summary = itemBookingSummaryService.findFresh(itemId).orElseThrow();
+        assertThat(summary.getNextBookingId()).isEqualTo(sooner).isNotEqualTo(later);
+        assertThat(summary.getNextBookerId()).isEqualTo(3L);
+        assertThat(summary.getLastBookingId()).isEqualTo(past);
+        assertThat(itemService.getById(itemId, 1L))
+                .hasFieldOrPropertyWithValue("nextBooking.id", sooner)
+                .hasFieldOrPropertyWithValue("lastBooking.id", past);
+    }
+
+    @Test
+    void startedNextBookingIsRolledIntoLastTest() {
+        Long first = book(2L, 1, 2, true);
+        Long second = book(3L, 4, 5, true);
+        // two days pass: the first booking has started, the summary still calls it next
+        jdbcTemplate.update("update booking set start_date = start_date - interval '2' day, " +
+                "end_date = end_date - interval '2' day where item_id = ?", itemId);
+        jdbcTemplate.update("update item_booking_summary set next_start = next_start - interval '2' day " +
+                "where item_id = ?", itemId);
+        entityManagerFactory.getCache().evictAll();
+
+        assertThat(itemBookingSummaryService.findFresh(itemId)).isEmpty();
+        assertThat(itemService.getById(itemId, 1L))
+                .hasFieldOrPropertyWithValue("nextBooking.id", second)
+                .hasFieldOrPropertyWithValue("lastBooking.id", first);
+
+        itemBookingSummaryJob.rollDue();
+
+        ItemBookingSummary summary = itemBookingSummaryService.findFresh(itemId).orElseThrow();
+        assertThat(summary.getNextBookingId()).isEqualTo(second);
+        assertThat(summary.getLastBookingId()).isEqualTo(first);
+    }
+
+    @Test
+    void itemWithoutSummaryFallsBackToBookingsTest() {
+        jdbcTemplate.update("delete from item_booking_summary where item_id = ?", itemId);
+        entityManagerFactory.getCache().evictAll();
+        Long next = book(2L, 1, 2, true);
+
+        ItemDtoResponse item = itemService.getById(itemId, 1L);
+
+        assertThat(itemBookingSummaryService.findFresh(itemId)).isEmpty();
+        assertThat(item)
+                .hasFieldOrPropertyWithValue("nextBooking.id", next)
+                .hasFieldOrPropertyWithValue("lastBooking", null);
+    }
+
+    private Long book(Long bookerId, int startInDays, int endInDays, boolean approved) {
+        Long bookingId = bookingService.create(BookingDtoRequest.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(startInDays))
+                .end(LocalDateTime.now().plusDays(endInDays))
+                .build(), bookerId).getId();
+        bookingService.approve(1L, bookingId, approved);
+        return bookingId;
+    }
+
+}
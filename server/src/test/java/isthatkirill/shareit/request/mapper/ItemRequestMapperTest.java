@@ -43,7 +43,7 @@ class ItemRequestMapperTest {
                 .id(1L)
                 .description("testDesc")
                 .created(LocalDateTime.now())
-                .requester(new User(1L, "testName", "test@email.com"))
+                .requester(new User(1L, 0L, "testName", "test@email.com"))
                 .items(Collections.singletonList(Item.builder().id(1L).build()))
                 .build();
 
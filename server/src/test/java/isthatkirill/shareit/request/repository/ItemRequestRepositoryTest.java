@@ -43,7 +43,7 @@ class ItemRequestRepositoryTest {
     @Test
     void findAllByRequesterIdOrderByCreatedDesc() {
         List<ItemRequest> itemRequests = itemRequestRepository
-                .findAllByRequesterIdOrderByCreatedDesc(3L);
+                .findAllByRequesterIdOrderByCreatedDesc(3L, PageRequest.of(0, 10));
 
         assertThat(itemRequests).hasSize(2)
                 .extracting(ItemRequest::getDescription)
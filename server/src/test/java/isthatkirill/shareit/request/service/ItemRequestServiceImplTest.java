@@ -88,7 +88,7 @@ class ItemRequestServiceImplTest {
     @Test
     @Order(6)
     void getOwnTest() {
-        List<ItemRequestDtoLong> requests = itemRequestService.getOwn(2L);
+        List<ItemRequestDtoLong> requests = itemRequestService.getOwn(0, 10, 2L);
 
         assertThat(requests).hasSize(2)
                 .extracting(ItemRequestDtoLong::getDescription)
@@ -98,7 +98,7 @@ class ItemRequestServiceImplTest {
     @Test
     @Order(7)
     void getOwnByNonExistentUserTest() {
-        Throwable e = assertThrows(NotFoundException.class, () -> itemRequestService.getOwn(100L));
+        Throwable e = assertThrows(NotFoundException.class, () -> itemRequestService.getOwn(0, 10, 100L));
         assertThat(e).hasMessage("Entity User not found. Id=100");
     }
 
@@ -147,6 +147,28 @@ class ItemRequestServiceImplTest {
                 .containsExactly("answer for req-2");
     }
 
+    @Test
+    @Order(12)
+    void getOwnWithAnsweredRequestTest() {
+        List<ItemRequestDtoLong> requests = itemRequestService.getOwn(0, 10, 2L);
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getItems())
+                .extracting(ItemDtoRequest::getDescription)
+                .containsExactly("answer for req-2");
+        assertThat(requests.get(1).getItems()).isEmpty();
+    }
+
+    @Test
+    @Order(13)
+    void getOwnWithPaginationTest() {
+        List<ItemRequestDtoLong> requests = itemRequestService.getOwn(1, 1, 2L);
+
+        assertThat(requests).hasSize(1)
+                .extracting(ItemRequestDtoLong::getDescription)
+                .containsExactly("req-1 user-2");
+    }
+
     private void createTestData() {
         ItemRequestDto dtoIn1 = ItemRequestDto.builder()
                 .description("req-2 user-2")
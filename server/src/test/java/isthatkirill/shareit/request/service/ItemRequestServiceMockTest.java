@@ -1,5 +1,7 @@
 package isthatkirill.shareit.request.service;
 
+import isthatkirill.shareit.item.model.Item;
+import isthatkirill.shareit.item.repository.ItemRepository;
 import isthatkirill.shareit.request.dto.ItemRequestDtoLong;
 import isthatkirill.shareit.request.mapper.ItemRequestMapper;
 import isthatkirill.shareit.request.model.ItemRequest;
@@ -35,6 +37,9 @@ class ItemRequestServiceMockTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ItemRepository itemRepository;
+
     @Test
     void createTest() {
         ItemRequestDto itemRequestDto = new ItemRequestDto();
@@ -66,59 +71,52 @@ class ItemRequestServiceMockTest {
         Integer from = 0;
         Integer size = 10;
         Long userId = 1L;
-        User user = new User();
         List<ItemRequest> itemRequests = new ArrayList<>();
-        List<ItemRequestDtoLong> dtos = new ArrayList<>();
 
-        when(userService.checkUserExistentAndGet(anyLong()))
-                .thenReturn(user);
         when(itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDesc(
                 anyLong(), any())).thenReturn(itemRequests);
-        when(itemRequestMapper.toItemRequestDtoLong(anyList()))
-                .thenReturn(dtos);
 
         itemRequestService.getAll(from, size, userId);
 
-        verify(userService, times(1)).checkUserExistentAndGet(userId);
+        verify(userService, times(1)).checkUserExistent(userId);
         verify(itemRequestRepository, times(1))
                 .findAllByRequesterIdNotOrderByCreatedDesc(userId, PageRequest.of(from > 0 ? from / size : 0, size));
-        verify(itemRequestMapper, times(1)).toItemRequestDtoLong(itemRequests);
-        verifyNoMoreInteractions(userService, itemRequestRepository, itemRequestMapper);
+        verifyNoMoreInteractions(userService, itemRequestRepository, itemRequestMapper, itemRepository);
     }
 
     @Test
     void getOwn() {
         Long userId = 1L;
-        User user = new User();
-        List<ItemRequest> itemRequests = new ArrayList<>();
-        List<ItemRequestDtoLong> dtos = new ArrayList<>();
+        ItemRequest first = ItemRequest.builder().id(1L).build();
+        ItemRequest second = ItemRequest.builder().id(2L).build();
+        Item answer = Item.builder().id(1L).requestId(2L).build();
+        List<ItemRequest> itemRequests = List.of(first, second);
 
-        when(userService.checkUserExistentAndGet(anyLong()))
-                .thenReturn(user);
-        when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(anyLong()))
+        when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(anyLong(), any()))
                 .thenReturn(itemRequests);
-        when(itemRequestMapper.toItemRequestDtoLong(anyList()))
-                .thenReturn(dtos);
+        when(itemRepository.findAllByRequestIdIn(anyCollection()))
+                .thenReturn(List.of(answer));
+        when(itemRequestMapper.toItemRequestDtoLong(any(ItemRequest.class), anyList()))
+                .thenReturn(new ItemRequestDtoLong());
 
-        itemRequestService.getOwn(userId);
+        itemRequestService.getOwn(0, 10, userId);
 
-        verify(userService, times(1)).checkUserExistentAndGet(userId);
+        verify(userService, times(1)).checkUserExistent(userId);
         verify(itemRequestRepository, times(1))
-                .findAllByRequesterIdOrderByCreatedDesc(userId);
-        verify(itemRequestMapper, times(1)).toItemRequestDtoLong(itemRequests);
-        verifyNoMoreInteractions(userService, itemRequestRepository, itemRequestMapper);
+                .findAllByRequesterIdOrderByCreatedDesc(userId, PageRequest.of(0, 10));
+        verify(itemRepository, times(1)).findAllByRequestIdIn(List.of(1L, 2L));
+        verify(itemRequestMapper, times(1)).toItemRequestDtoLong(first, new ArrayList<>());
+        verify(itemRequestMapper, times(1)).toItemRequestDtoLong(second, List.of(answer));
+        verifyNoMoreInteractions(userService, itemRequestRepository, itemRequestMapper, itemRepository);
     }
 
     @Test
     void getById() {
         Long requestId = 1L;
         Long userId = 1L;
-        User user = new User();
         ItemRequest itemRequest = new ItemRequest();
         ItemRequestDtoLong expectedDtoLong = new ItemRequestDtoLong();
 
-        when(userService.checkUserExistentAndGet(anyLong()))
-                .thenReturn(user);
         when(itemRequestRepository.findById(anyLong()))
                 .thenReturn(Optional.of(itemRequest));
         when(itemRequestMapper.toItemRequestDtoLong(any(ItemRequest.class)))
@@ -126,7 +124,7 @@ class ItemRequestServiceMockTest {
 
         itemRequestService.getById(requestId, userId);
 
-        verify(userService, times(1)).checkUserExistentAndGet(userId);
+        verify(userService, times(1)).checkUserExistent(userId);
         verify(itemRequestRepository, times(1)).findById(requestId);
         verify(itemRequestMapper, times(1)).toItemRequestDtoLong(itemRequest);
         verifyNoMoreInteractions(userService, itemRequestRepository, itemRequestMapper);
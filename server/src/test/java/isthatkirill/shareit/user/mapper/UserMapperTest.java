@@ -60,7 +60,7 @@ class UserMapperTest {
     private List<User> generate(Integer count) {
         List<User> users = new ArrayList<>();
         for (long i = 0; i < count; i++) {
-            users.add(new User(i, "name" + i, "email" + i + "@yandex.ru"));
+            users.add(new User(i, 0L, "name" + i, "email" + i + "@yandex.ru"));
         }
         return users;
     }
@@ -11,6 +11,10 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
 import isthatkirill.shareit.util.exception.NotFoundException;
+import isthatkirill.shareit.util.exception.VersionConflictException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -49,6 +53,7 @@ class UserServiceImplTest {
 
         assertThat(userDto)
                 .hasFieldOrPropertyWithValue("id", 1L)
+                .hasFieldOrPropertyWithValue("version", 1L)
                 .hasFieldOrPropertyWithValue("name", "newTestName")
                 .hasFieldOrPropertyWithValue("email", "testemail@yahoo.com");
     }
@@ -87,7 +92,7 @@ class UserServiceImplTest {
     void delete() {
         userService.delete(1L);
 
-        Assertions.assertThat(userService.getAll())
+        Assertions.assertThat(userService.getAll(0, 10, null))
                 .isEmpty();
     }
 
@@ -107,9 +112,11 @@ class UserServiceImplTest {
         userService.create(userDto2);
 
         userDto1.setId(2L);
+        userDto1.setVersion(0L);
         userDto2.setId(3L);
+        userDto2.setVersion(0L);
 
-        Assertions.assertThat(userService.getAll())
+        Assertions.assertThat(userService.getAll(0, 10, null))
                 .hasSize(2)
                 .containsExactlyInAnyOrder(userDto1, userDto2);
     }
@@ -135,4 +142,43 @@ class UserServiceImplTest {
         assertThrows(DataIntegrityViolationException.class, () -> userService.update(userDtoUpdated, 2L));
     }
 
+    @Test
+    @Order(10)
+    void updateWithStaleVersionTest() {
+        userService.update(UserDto.builder().name("renamed").version(0L).build(), 3L);
+        UserDto stale = UserDto.builder()
+                .name("renamedAgain")
+                .version(0L)
+                .build();
+
+        Throwable e = assertThrows(VersionConflictException.class, () -> userService.update(stale, 3L));
+
+        assertThat(e).hasMessage("Entity User id=3 was modified. Expected version 0, current version 1");
+        assertThat(userService.getById(3L))
+                .hasFieldOrPropertyWithValue("name", "renamed")
+                .hasFieldOrPropertyWithValue("version", 1L);
+    }
+
+    @Test
+    @Order(11)
+    void getAllPagedTest() {
+        assertThat(userService.getAll(0, 1, null)).extracting(UserDto::getId).containsExactly(2L);
+        assertThat(userService.getAll(1, 1, null)).extracting(UserDto::getId).containsExactly(3L);
+        assertThat(userService.getAll(0, 1, 2L)).extracting(UserDto::getId).containsExactly(3L);
+        assertThat(userService.getAll(0, 10, 3L)).isEmpty();
+    }
+
+    @Test
+    @Order(12)
+    void exportAllTest() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userService.exportAll(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).lines())
+                .containsExactly(
+                        "{\"id\":2,\"version\":0,\"name\":\"firstTestName\",\"email\":\"firsttestemail@yahoo.com\"}",
+                        "{\"id\":3,\"version\":1,\"name\":\"renamed\",\"email\":\"secondtestemail@yahoo.com\"}");
+    }
+
 }
@@ -1,18 +1,25 @@
 package isthatkirill.shareit.user.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import isthatkirill.shareit.user.dto.UserDto;
 import isthatkirill.shareit.user.mapper.UserMapper;
 import isthatkirill.shareit.user.model.User;
 import isthatkirill.shareit.user.repository.UserRepository;
+import isthatkirill.shareit.util.exception.NotFoundException;
+import isthatkirill.shareit.util.exception.VersionConflictException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +34,9 @@ class UserServiceMockTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private Cache<Long, Boolean> userExistenceCache;
+
     private final UserDto userDto = new UserDto();
 
     private final User user = new User();
@@ -42,23 +52,37 @@ class UserServiceMockTest {
         verify(userMapper, times(1)).toUser(userDto);
         verify(userMapper, times(1)).toUserDto(user);
         verify(userRepository, times(1)).save(user);
+        verify(userExistenceCache, times(1)).invalidate(user.getId());
         verifyNoMoreInteractions(userMapper, userRepository);
     }
 
     @Test
     void updateUserTest() {
-        when(userRepository.save(any())).thenReturn(user);
+        when(userRepository.saveAndFlush(any())).thenReturn(user);
         when(userMapper.toUserDto(any(User.class))).thenReturn(userDto);
         when(userRepository.findById(any())).thenReturn(Optional.of(user));
 
         userService.update(userDto, 1L);
 
         verify(userMapper, times(1)).toUserDto(user);
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, times(1)).saveAndFlush(user);
         verify(userRepository, times(1)).findById(1L);
         verifyNoMoreInteractions(userMapper, userRepository);
     }
 
+    @Test
+    void updateUserWithStaleVersionTest() {
+        User current = User.builder().id(1L).version(3L).build();
+        UserDto stale = UserDto.builder().name("newName").version(2L).build();
+        when(userRepository.findById(any())).thenReturn(Optional.of(current));
+
+        Throwable e = assertThrows(VersionConflictException.class, () -> userService.update(stale, 1L));
+
+        assertThat(e).hasMessage("Entity User id=1 was modified. Expected version 2, current version 3");
+        assertThat(current.getName()).isNull();
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     void getUserByIdTest() {
         when(userMapper.toUserDto(any(User.class))).thenReturn(userDto);
@@ -74,12 +98,24 @@ class UserServiceMockTest {
     @Test
     void getAllUsersTest() {
         when(userMapper.toUserDto(anyList())).thenReturn(List.of(userDto));
-        when(userRepository.findAll()).thenReturn(List.of(user));
+        when(userRepository.findAllByOrderByIdAsc(any())).thenReturn(List.of(user));
 
-        userService.getAll();
+        userService.getAll(20, 10, null);
 
         verify(userMapper, times(1)).toUserDto(List.of(user));
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllByOrderByIdAsc(PageRequest.of(2, 10));
+        verifyNoMoreInteractions(userMapper, userRepository);
+    }
+
+    @Test
+    void getAllUsersAfterCursorTest() {
+        when(userMapper.toUserDto(anyList())).thenReturn(List.of(userDto));
+        when(userRepository.findAllByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of(user));
+
+        userService.getAll(20, 10, 5L);
+
+        verify(userMapper, times(1)).toUserDto(List.of(user));
+        verify(userRepository, times(1)).findAllByIdGreaterThanOrderByIdAsc(5L, PageRequest.of(0, 10));
         verifyNoMoreInteractions(userMapper, userRepository);
     }
 
@@ -88,7 +124,50 @@ class UserServiceMockTest {
         userService.delete(1L);
 
         verify(userRepository, times(1)).deleteById(1L);
+        verify(userExistenceCache, times(1)).invalidate(1L);
         verifyNoMoreInteractions(userMapper, userRepository);
     }
 
+    @Test
+    void checkUserExistentTest() {
+        loadThroughCache();
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+
+        userService.checkUserExistent(1L);
+
+        verify(userRepository, times(1)).existsById(1L);
+        verifyNoMoreInteractions(userMapper, userRepository);
+    }
+
+    @Test
+    void checkUserNonExistentTest() {
+        loadThroughCache();
+        when(userRepository.existsById(anyLong())).thenReturn(false);
+
+        Throwable e = assertThrows(NotFoundException.class, () -> userService.checkUserExistent(100L));
+
+        assertThat(e).hasMessage("Entity User not found. Id=100");
+        verify(userRepository, times(1)).existsById(100L);
+        verifyNoMoreInteractions(userMapper, userRepository);
+    }
+
+    @Test
+    void checkUserExistentAndGetReferenceTest() {
+        User reference = User.builder().id(1L).build();
+        loadThroughCache();
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(reference);
+
+        assertThat(userService.checkUserExistentAndGetReference(1L)).isSameAs(reference);
+
+        verify(userRepository, times(1)).existsById(1L);
+        verify(userRepository, times(1)).getReferenceById(1L);
+        verifyNoMoreInteractions(userMapper, userRepository);
+    }
+
+    private void loadThroughCache() {
+        when(userExistenceCache.get(anyLong(), any())).thenAnswer(invocation -> invocation
+                .<Function<Long, Boolean>>getArgument(1).apply(invocation.getArgument(0)));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package isthatkirill.shareit.util.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import isthatkirill.shareit.booking.overlap.IntervalTreeBookingOverlapGuard;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Test schemas are dropped and recreated by {@code @Sql} scripts inside a shared application context,
+ * so second-level cache entries, remembered user ids and loaded booking intervals from a previous test would otherwise outlive their rows.
+ */
+public class EntityCacheEvictingListener extends AbstractTestExecutionListener {
+
+    @Override
+    public void beforeTestMethod(TestContext testContext) {
+        ApplicationContext context = testContext.getApplicationContext();
+        context.getBeanProvider(EntityManagerFactory.class)
+                .ifAvailable(emf -> emf.getCache().evictAll());
+        context.getBeansOfType(Cache.class).values().forEach(Cache::invalidateAll);
+        context.getBeanProvider(IntervalTreeBookingOverlapGuard.class)
+                .ifAvailable(IntervalTreeBookingOverlapGuard::clear);
+    }
+
+}
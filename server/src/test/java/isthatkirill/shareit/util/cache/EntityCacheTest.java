@@ -0,0 +1,171 @@
+package isthatkirill.shareit.util.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import isthatkirill.shareit.user.dto.UserDto;
+import isthatkirill.shareit.user.model.User;
+import isthatkirill.shareit.user.service.UserService;
+import isthatkirill.shareit.util.exception.NotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import javax.persistence.Cacheable;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Sql(value = {"/test-schema.sql", "/test-users.sql"})
+@Sql(value = "/test-schema.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class EntityCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager entityCacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedLookupIsServedFromCacheTest() {
+        userService.getById(1L);
+        long statements = statistics.getPrepareStatementCount();
+        userService.getById(1L);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateRefreshesCachedEntityTest() {
+        userService.getById(1L);
+        userService.update(UserDto.builder().name("updated").build(), 1L);
+
+        assertThat(userService.getById(1L)).hasFieldOrPropertyWithValue("name", "updated");
+    }
+
+    @Test
+    void deleteEvictsCachedEntityTest() {
+        userService.getById(1L);
+        userService.delete(1L);
+
+        assertThrows(NotFoundException.class, () -> userService.getById(1L));
+    }
+
+    @Test
+    void existenceCheckIsCachedTest() {
+        userService.checkUserExistent(1L);
+        long statements = statistics.getPrepareStatementCount();
+        userService.checkUserExistent(1L);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    @Test
+    void deleteForgetsExistingUserTest() {
+        userService.checkUserExistent(1L);
+        userService.delete(1L);
+
+        assertThrows(NotFoundException.class, () -> userService.checkUserExistent(1L));
+    }
+
+    @Test
+    void createForgetsMissingUserTest() {
+        assertThrows(NotFoundException.class, () -> userService.checkUserExistent(5L));
+        userService.create(UserDto.builder().name("new").email("new@mail.com").build());
+
+        userService.checkUserExistent(5L);
+    }
+
+    @Test
+    void checkBeforeCreateCommitsIsNotRememberedTest() {
+        Long id = transactionTemplate.execute(status -> {
+            Long created = userService.create(UserDto.builder().name("new").email("new@mail.com").build()).getId();
+            assertThrows(NotFoundException.class, () -> checkInOtherThread(created));
+            return created;
+        });
+
+        userService.checkUserExistent(id);
+    }
+
+    @Test
+    void checkBeforeDeleteCommitsIsNotRememberedTest() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.delete(1L);
+            checkInOtherThread(1L);
+        });
+
+        assertThrows(NotFoundException.class, () -> userService.checkUserExistent(1L));
+    }
+
+    @Test
+    void regionsUseConfiguredLimitsTest() {
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<Object, Object> configuration = entityCacheManager
+                .getCache(User.class.getName())
+                .getConfiguration(CaffeineConfiguration.class);
+
+        assertThat(configuration.getMaximumSize()).hasValue(10_000);
+        assertThat(configuration.getExpireAfterWrite()).isPresent();
+    }
+
+    @Test
+    void everyCacheableEntityHasConfiguredRegionTest() {
+        assertThat(entityManagerFactory.getMetamodel().getEntities())
+                .map(EntityType::getJavaType)
+                .filteredOn(type -> type.isAnnotationPresent(Cacheable.class))
+                .map(Class::getName)
+                .isNotEmpty()
+                .allSatisfy(region -> assertThat(EntityCacheConfig.REGIONS).contains(region));
+    }
+
+    @Test
+    void cacheRequestsArePublishedAsMetricsTest() {
+        userService.getById(1L);
+        userService.getById(1L);
+
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", User.class.getName(), "result", "hit")
+                .functionCounter())
+                .isNotNull()
+                .satisfies(counter -> assertThat(counter.count()).isPositive());
+    }
+
+    private void checkInOtherThread(Long id) {
+        try {
+            CompletableFuture.runAsync(() -> userService.checkUserExistent(id)).join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+}
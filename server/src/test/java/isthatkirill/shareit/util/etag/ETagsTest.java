@@ -0,0 +1,78 @@
+package isthatkirill.shareit.util.etag;
+
+import isthatkirill.shareit.booking.dto.BookingDtoResponse;
+import isthatkirill.shareit.booking.model.BookingShortImpl;
+import isthatkirill.shareit.item.comment.dto.CommentDtoResponse;
+import isthatkirill.shareit.item.dto.ItemDtoRequest;
+import isthatkirill.shareit.item.dto.ItemDtoResponse;
+import isthatkirill.shareit.request.dto.ItemRequestDtoLong;
+import isthatkirill.shareit.user.dto.UserDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    @Test
+    void userTagFollowsVersionTest() {
+        UserDto user = UserDto.builder().id(1L).version(0L).name("name").build();
+        String tag = ETags.of(user);
+
+        user.setName("other");
+        assertThat(ETags.of(user)).isEqualTo(tag).startsWith("\"").endsWith("\"");
+
+        user.setVersion(1L);
+        assertThat(ETags.of(user)).isNotEqualTo(tag);
+    }
+
+    @Test
+    void bookingTagFollowsItemAndBookerVersionsTest() {
+        BookingDtoResponse booking = BookingDtoResponse.builder()
+                .id(1L)
+                .version(0L)
+                .item(ItemDtoRequest.builder().id(2L).version(0L).build())
+                .booker(UserDto.builder().id(3L).version(0L).build())
+                .build();
+        String tag = ETags.of(booking);
+
+        booking.getItem().setVersion(1L);
+        String itemChanged = ETags.of(booking);
+        booking.getBooker().setVersion(1L);
+
+        assertThat(List.of(tag, itemChanged, ETags.of(booking))).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void itemTagFollowsBookingsAndCommentsTest() {
+        List<CommentDtoResponse> comments = new ArrayList<>();
+        ItemDtoResponse item = ItemDtoResponse.builder()
+                .id(1L)
+                .version(2L)
+                .comments(comments)
+                .build();
+        String tag = ETags.of(item);
+
+        item.setNextBooking(BookingShortImpl.builder().id(5L).build());
+        String withBooking = ETags.of(item);
+        comments.add(CommentDtoResponse.builder().id(7L).authorName("author").build());
+
+        assertThat(List.of(tag, withBooking, ETags.of(item))).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void requestTagFollowsAnsweringItemsTest() {
+        List<ItemDtoRequest> items = new ArrayList<>();
+        ItemRequestDtoLong request = ItemRequestDtoLong.builder().id(1L).version(0L).items(items).build();
+        String tag = ETags.of(request);
+
+        items.add(ItemDtoRequest.builder().id(4L).version(0L).build());
+        String withItem = ETags.of(request);
+        items.get(0).setVersion(1L);
+
+        assertThat(List.of(tag, withItem, ETags.of(request))).doesNotHaveDuplicates();
+    }
+
+}
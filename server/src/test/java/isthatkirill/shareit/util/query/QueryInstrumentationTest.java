@@ -0,0 +1,88 @@
+package isthatkirill.shareit.util.query;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import isthatkirill.shareit.item.controller.ItemController;
+import isthatkirill.shareit.item.service.ItemService;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.DispatcherType;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Sql(value = {"/test-schema.sql", "/test-users.sql", "/test-items.sql", "/test-comments-2.sql"})
+class QueryInstrumentationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private QueryBudgetInterceptor queryBudgetInterceptor;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemController itemController;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void dataSourceIsWrappedTest() {
+        assertThat(dataSource).isInstanceOf(QueryCountingDataSource.class);
+    }
+
+    @Test
+    @SneakyThrows
+    void statementsAreRecordedPerEndpointTest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod handler = new HandlerMethod(itemController, ItemController.class.getMethod("getByOwner",
+                Long.class, Integer.class, Integer.class));
+
+        queryBudgetInterceptor.preHandle(request, response, handler);
+        itemService.getByOwner(1L, 0, 10);
+        queryBudgetInterceptor.afterCompletion(request, response, handler, null);
+
+        DistributionSummary statements = meterRegistry.get(QueryBudgetInterceptor.STATEMENTS_METRIC)
+                .tag("endpoint", "ItemController.getByOwner")
+                .summary();
+        Timer time = meterRegistry.get(QueryBudgetInterceptor.TIME_METRIC)
+                .tag("endpoint", "ItemController.getByOwner")
+                .timer();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isBetween(1.0, 5.0);
+        assertThat(time.count()).isEqualTo(1);
+    }
+
+    @Test
+    @SneakyThrows
+    void asyncDispatchIsNotRecordedAgainTest() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        QueryBudgetInterceptor interceptor = new QueryBudgetInterceptor(registry, 0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/export");
+        request.setDispatcherType(DispatcherType.ASYNC);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod handler = new HandlerMethod(itemController, ItemController.class.getMethod("exportByOwner",
+                Long.class));
+
+        interceptor.preHandle(request, response, handler);
+        itemService.getByOwner(1L, 0, 10);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(registry.find(QueryBudgetInterceptor.STATEMENTS_METRIC).summary()).isNull();
+    }
+
+}
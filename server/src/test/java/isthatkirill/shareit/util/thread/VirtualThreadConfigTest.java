@@ -0,0 +1,44 @@
+package isthatkirill.shareit.util.thread;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    void disabledByDefaultTest() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class));
+    }
+
+    @Test
+    void failsFastBeforeJava21Test() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        contextRunner.withPropertyValues("shareit.threads.virtual=true")
+                .run(context -> assertThat(context).getFailure()
+                        .hasRootCauseInstanceOf(NoSuchMethodException.class)
+                        .hasMessageContaining("requires Java 21 or newer"));
+    }
+
+    @Test
+    void runsTasksOnVirtualThreadsTest() {
+        assumeTrue(Runtime.version().feature() >= 21);
+
+        contextRunner.withPropertyValues("shareit.threads.virtual=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(TomcatProtocolHandlerCustomizer.class);
+                    Thread thread = context.getBean(ExecutorService.class).submit(Thread::currentThread).get();
+                    assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+                });
+    }
+
+}
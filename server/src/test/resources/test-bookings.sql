@@ -1,3 +1,22 @@
 insert into booking (start_date, end_date, item_id, booker_id, status) values
 (NOW() - INTERVAL '4' DAY, NOW() - INTERVAL '3' DAY, 1, 2, 'APPROVED'),
-(NOW() + INTERVAL '1' DAY, NOW() + INTERVAL '2' DAY, 1, 3, 'APPROVED');
\ No newline at end of file
+(NOW() + INTERVAL '1' DAY, NOW() + INTERVAL '2' DAY, 1, 3, 'APPROVED');
+
+-- The bookings above skip BookingService, so the summary row of their item is brought up to date here
+update item_booking_summary s set
+    next_booking_id = (select b.id from booking b
+                       where b.item_id = s.item_id and b.status = 'APPROVED' and b.start_date > NOW()
+                       order by b.start_date limit 1),
+    last_booking_id = (select b.id from booking b
+                       where b.item_id = s.item_id and b.status = 'APPROVED' and b.start_date < NOW()
+                       order by b.start_date desc limit 1)
+where s.item_id = 1;
+
+update item_booking_summary s set
+    next_booker_id = (select b.booker_id from booking b where b.id = s.next_booking_id),
+    next_start = (select b.start_date from booking b where b.id = s.next_booking_id),
+    next_end = (select b.end_date from booking b where b.id = s.next_booking_id),
+    last_booker_id = (select b.booker_id from booking b where b.id = s.last_booking_id),
+    last_start = (select b.start_date from booking b where b.id = s.last_booking_id),
+    last_end = (select b.end_date from booking b where b.id = s.last_booking_id)
+where s.item_id = 1;
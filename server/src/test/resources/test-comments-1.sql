@@ -1,3 +1,6 @@
 insert into comments (text, item_id, author_id, created) values
 ('comment1', 1, 2, NOW()),
 ('comment2', 1, 2, NOW());
+
+-- The comments above skip ItemService, so the counts it keeps are recomputed here
+update items i set comment_count = (select count(*) from comments c where c.item_id = i.id);
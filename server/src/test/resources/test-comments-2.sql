@@ -2,4 +2,7 @@ insert into comments (text, item_id, author_id, created) values
 ('comment1', 2, 2, NOW()),
 ('comment2', 5, 2, NOW()),
 ('comment3', 2, 3, NOW()),
-('comment4', 5, 1, NOW());
\ No newline at end of file
+('comment4', 5, 1, NOW());
+
+-- The comments above skip ItemService, so the counts it keeps are recomputed here
+update items i set comment_count = (select count(*) from comments c where c.item_id = i.id);
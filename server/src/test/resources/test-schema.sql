@@ -1,14 +1,27 @@
-drop table if exists users, items, booking, comments, item_requests;
+drop table if exists users, items, booking, comments, item_requests, item_booking_summary;
+drop sequence if exists users_seq;
+drop sequence if exists item_requests_seq;
+drop sequence if exists items_seq;
+drop sequence if exists booking_seq;
+drop sequence if exists comments_seq;
+
+create sequence users_seq start with 1 increment by 1;
+create sequence item_requests_seq start with 1 increment by 1;
+create sequence items_seq start with 1 increment by 1;
+create sequence booking_seq start with 1 increment by 1;
+create sequence comments_seq start with 1 increment by 1;
 
 create table if not exists users
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    id BIGINT DEFAULT NEXT VALUE FOR users_seq PRIMARY KEY NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(255) NOT NULL UNIQUE
 );
 
 create table if not exists item_requests (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    id BIGINT DEFAULT NEXT VALUE FOR item_requests_seq PRIMARY KEY NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     description VARCHAR(255) NOT NULL,
     requester_id BIGINT NOT NULL,
     created TIMESTAMP NOT NULL,
@@ -17,10 +30,12 @@ create table if not exists item_requests (
 
 create table if not exists items
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    id BIGINT DEFAULT NEXT VALUE FOR items_seq PRIMARY KEY NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     name VARCHAR(255) NOT NULL,
     description VARCHAR(255) NOT NULL,
     is_available BOOLEAN NOT NULL,
+    comment_count INTEGER DEFAULT 0 NOT NULL,
     owner_id BIGINT NOT NULL,
     request_id BIGINT,
     FOREIGN KEY (owner_id) REFERENCES users (id),
@@ -30,7 +45,8 @@ create table if not exists items
 
 create table if not exists booking
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    id BIGINT DEFAULT NEXT VALUE FOR booking_seq PRIMARY KEY NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     start_date TIMESTAMP NOT NULL,
     end_date TIMESTAMP NOT NULL,
     item_id BIGINT NOT NULL,
@@ -42,7 +58,7 @@ create table if not exists booking
 
 create table if not exists comments
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    id BIGINT DEFAULT NEXT VALUE FOR comments_seq PRIMARY KEY NOT NULL,
     text VARCHAR(255) NOT NULL,
     item_id BIGINT NOT NULL,
     author_id BIGINT NOT NULL,
@@ -51,6 +67,16 @@ create table if not exists comments
     FOREIGN KEY (author_id) REFERENCES users (id)
 );
 
-
-
-
+create table if not exists item_booking_summary
+(
+    item_id BIGINT PRIMARY KEY NOT NULL,
+    next_booking_id BIGINT,
+    next_booker_id BIGINT,
+    next_start TIMESTAMP,
+    next_end TIMESTAMP,
+    last_booking_id BIGINT,
+    last_booker_id BIGINT,
+    last_start TIMESTAMP,
+    last_end TIMESTAMP,
+    FOREIGN KEY (item_id) REFERENCES items (id)
+);